@@ -0,0 +1,11 @@
+@echo off
+rem Runs Jack on this runtime image with the classes of a training run preloaded from
+rem app\jack.jsa. The archive only matches the image in the directory it was made in;
+rem after moving the image, delete app\jack.jsa and the next run makes a new one.
+set "DIR=%~dp0.."
+if exist "%DIR%\app\jack.jsa" (
+    set "CDS=-XX:SharedArchiveFile=%DIR%\app\jack.jsa"
+) else (
+    set "CDS=-XX:ArchiveClassesAtExit=%DIR%\app\jack.jsa"
+)
+"%DIR%\bin\java" -Xlog:cds=off -Xlog:cds+dynamic=off "%CDS%" -cp "%DIR%\app\jack.jar" @MAIN_CLASS@ %*
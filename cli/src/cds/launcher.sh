@@ -0,0 +1,11 @@
+#!/bin/sh
+# Runs Jack on this runtime image with the classes of a training run preloaded from
+# app/jack.jsa. The archive only matches the image in the directory it was made in;
+# after moving the image, delete app/jack.jsa and the next run makes a new one.
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+if [ -f "$DIR/app/jack.jsa" ]; then
+    CDS="-XX:SharedArchiveFile=$DIR/app/jack.jsa"
+else
+    CDS="-XX:ArchiveClassesAtExit=$DIR/app/jack.jsa"
+fi
+exec "$DIR/bin/java" -Xlog:cds=off -Xlog:cds+dynamic=off "$CDS" -cp "$DIR/app/jack.jar" @MAIN_CLASS@ "$@"
@@ -0,0 +1,104 @@
+package jack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point: the interactive console, batch mode and server mode.
+ * <p>
+ * Lives in its own module so that the command-line jar holds only the core classes and
+ * never loads JavaFX.
+ */
+public final class Cli {
+    /** Read buffer size for batch input from standard input. */
+    private static final int BATCH_BUFFER = 1 << 16;
+
+    /** Connections served at once in server mode unless {@code --max-clients} is given. */
+    private static final int DEFAULT_MAX_CLIENTS = 64;
+
+    private static final String USAGE =
+            "Usage: jack [--batch <file|-> [--save-every N]] | jack serve --port N [--max-clients N]";
+
+    private Cli() {
+    }
+
+    /**
+     * Starts the application.
+     * <p>
+     * With {@code --batch <file|-> [--save-every N]} the commands are read from the file
+     * (or standard input for {@code -}) and run by {@link Jack#runBatch}; the exit status is
+     * {@code 1} if any command failed. With {@code serve --port N [--max-clients N]} the
+     * list is shared with local clients (see {@link Server}). Without arguments the
+     * interactive loop runs.
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(args);
+            return;
+        }
+        if (args.length == 0 || !args[0].equals("--batch")) {
+            new Jack().run();
+            return;
+        }
+        if (args.length != 2 && !(args.length == 4 && args[2].equals("--save-every"))) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        try {
+            int saveEvery = args.length == 4 ? Integer.parseInt(args[3]) : 0;
+            if (args.length == 4 && saveEvery < 1) {
+                throw new NumberFormatException("not positive: " + saveEvery);
+            }
+            BufferedReader in = args[1].equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER)
+                    : Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8);
+            int failed;
+            try (in) {
+                failed = new Jack().runBatch(in, saveEvery);
+            }
+            System.exit(failed == 0 ? 0 : 1);
+        } catch (NumberFormatException e) {
+            System.err.println("--save-every needs a positive number: " + args[3]);
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Cannot read " + args[1] + ": " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void serve(String[] args) {
+        int port = -1;
+        int maxClients = DEFAULT_MAX_CLIENTS;
+        try {
+            for (int i = 1; i + 1 < args.length; i += 2) {
+                if (args[i].equals("--port")) {
+                    port = Integer.parseInt(args[i + 1]);
+                } else if (args[i].equals("--max-clients")) {
+                    maxClients = Integer.parseInt(args[i + 1]);
+                } else {
+                    port = -1;
+                    break;
+                }
+            }
+        } catch (NumberFormatException e) {
+            port = -1;
+        }
+        if (port < 0 || port > 0xFFFF || maxClients < 1 || args.length % 2 == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        try {
+            new Jack().serve(port, maxClients);
+        } catch (IOException e) {
+            System.err.println("Cannot listen on port " + port + ": " + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
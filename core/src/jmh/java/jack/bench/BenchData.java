@@ -0,0 +1,48 @@
+package jack.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import jack.model.Deadline;
+import jack.model.Event;
+import jack.model.Task;
+import jack.model.Todo;
+
+/**
+ * Builds the task lists the benchmarks run against: to-dos, deadlines and events in
+ * equal parts, with dates spread over a year from 2025-06-06.
+ */
+final class BenchData {
+    /** First due date and event day. */
+    static final LocalDate START = LocalDate.of(2025, 6, 6);
+
+    private BenchData() {
+    }
+
+    /**
+     * Returns {@code size} fresh tasks.
+     * <p>
+     * Descriptions are {@code "read book N"}, {@code "return book N"} and
+     * {@code "project meeting N"}, so a keyword such as {@code "book"} matches two thirds of
+     * the list and {@code "meeting 41"} only a few tasks.
+     */
+    static ArrayList<Task> tasks(int size) {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate day = START.plusDays(i % 365);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read book " + i));
+                break;
+            case 1:
+                tasks.add(new Deadline("return book " + i, day));
+                break;
+            default:
+                LocalDateTime start = day.atTime(14, 0);
+                tasks.add(new Event("project meeting " + i, "Mon 2pm", "4pm", start, start.plusHours(2)));
+            }
+        }
+        return tasks;
+    }
+}
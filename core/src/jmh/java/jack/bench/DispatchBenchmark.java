@@ -0,0 +1,89 @@
+package jack.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.Parser;
+import jack.error.JackException;
+import jack.model.Storage;
+import jack.model.TaskList;
+import jack.ui.Ui;
+
+/**
+ * Measures one command end to end through {@link Parser#dispatch}: parsing, the change to
+ * the list, the journal record and the reply.
+ * <p>
+ * The list and a journaled {@link Storage} are rebuilt before every iteration, because
+ * commands that add tasks grow the list while they are measured. The added event has
+ * no resolvable time, so that it does not report every earlier copy of itself as a
+ * conflict; {@code overlap} covers the interval search instead. {@code delete} and
+ * {@code bye} are left out as they cannot be repeated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DispatchBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({
+        "todo read book",
+        "deadline return book /by 2025-06-06",
+        "event project meeting /from after lunch /to 4pm",
+        "mark 1",
+        "unmark 1",
+        "list",
+        "list 1",
+        "find meeting 41",
+        "overlap /from 2025-06-06 1pm /to 3pm",
+        "find type:D before:2025-07-01",
+        "agenda 2025-06-06",
+        "due 2025-06-06",
+        "overdue"
+    })
+    public String command;
+
+    private TaskList tasks;
+    private Ui ui;
+    private Storage storage;
+
+    /**
+     * Builds a mixed list of tasks (see {@link BenchData}) and an empty journal for it.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        tasks = new TaskList(BenchData.tasks(size));
+        ui = new Ui(true);
+        storage = new Storage(Files.createTempDirectory("jack-bench"), true, 1L << 20);
+        storage.load(); // opens the journal
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        storage.close();
+    }
+
+    @Benchmark
+    public String dispatch() throws JackException {
+        Parser.dispatch(command, tasks, ui, storage);
+        return ui.getCaptured();
+    }
+}
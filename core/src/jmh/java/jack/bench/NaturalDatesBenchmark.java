@@ -0,0 +1,55 @@
+package jack.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.util.NaturalDates;
+
+/**
+ * Measures {@link NaturalDates#parse} for each input shape it accepts, and for text it
+ * rejects. The cost does not depend on the size of any list, so there is no size
+ * parameter. Relative phrases are answered from its cache after the first call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NaturalDatesBenchmark {
+    @Param({
+        "2025-10-01",
+        "1/10/2025",
+        "1-10-2025",
+        "1 Oct 2025",
+        "Oct 1 2025",
+        "tomorrow",
+        "in 3 days",
+        "next fri",
+        "fri",
+        "not a date"
+    })
+    public String input;
+
+    private final LocalDate today = BenchData.START;
+
+    @Benchmark
+    public Object parse() {
+        try {
+            return NaturalDates.parse(input, today);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package jack.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.Command;
+import jack.Parser;
+import jack.error.JackException;
+
+/**
+ * Measures splitting a command line into a {@link Command}. Run with {@code -prof gc}
+ * to see the bytes allocated per command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParserBenchmark {
+    @Param({
+        "todo read book",
+        "deadline return book /by 2025-06-06",
+        "event project meeting /from Mon 2pm /to 4pm",
+        "mark 3",
+        "list",
+        "find book"
+    })
+    public String line;
+
+    @Benchmark
+    public Command parse() throws JackException {
+        return Parser.parse(line);
+    }
+}
@@ -0,0 +1,112 @@
+package jack.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load-test client for {@code jack serve}.
+ * <p>
+ * Opens {@code clients} connections to a running server, and each sends
+ * {@code requests} commands, waiting for every reply before sending the next. One
+ * command in {@code writeEvery} adds a task; the others alternate between {@code find}
+ * and the first page of {@code list}. Prints the throughput and the latency
+ * percentiles over all requests.
+ * <p>
+ * Usage: {@code ServeLoadTest PORT [CLIENTS] [REQUESTS] [WRITE_EVERY]}, e.g. through
+ * {@code ./gradlew loadTest -PloadTestArgs="4567 32 2000 4"}.
+ */
+public class ServeLoadTest {
+    /** Line that ends every reply of the server. */
+    private static final String END_OF_REPLY = ".";
+
+    /**
+     * Runs the load test.
+     *
+     * @param args port, then optionally clients, requests per client and write ratio
+     * @throws Exception if a connection fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ServeLoadTest PORT [CLIENTS] [REQUESTS] [WRITE_EVERY]");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int writeEvery = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        Future<?>[] runs = new Future<?>[clients];
+        long[][] latencies = new long[clients][];
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            runs[c] = pool.submit(() -> {
+                latencies[client] = runClient(port, client, requests, writeEvery);
+                return null;
+            });
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        long nanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = nanos / 1e9;
+        System.out.printf("%d clients x %d requests (1 in %d writes) in %.2f s: %.0f requests/s%n",
+                clients, requests, writeEvery, seconds, all.length / seconds);
+        System.out.printf("latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    private static long[] runClient(int port, int client, int requests, int writeEvery) throws IOException {
+        long[] latencies = new long[requests];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            readReply(in); // welcome
+            for (int i = 0; i < requests; i++) {
+                String command = i % writeEvery == 0 ? "todo load " + client + " " + i
+                        : i % 2 == 0 ? "find load " + client : "list 1";
+                long sent = System.nanoTime();
+                out.write(command);
+                out.write('\n');
+                out.flush();
+                readReply(in);
+                latencies[i] = System.nanoTime() - sent;
+            }
+            out.write("bye\n");
+            out.flush();
+            readReply(in);
+        }
+        return latencies;
+    }
+
+    private static void readReply(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(END_OF_REPLY)) {
+                return;
+            }
+        }
+        throw new IOException("server closed the connection");
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+}
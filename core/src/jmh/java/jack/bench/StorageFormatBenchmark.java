@@ -0,0 +1,63 @@
+package jack.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.model.Storage;
+import jack.model.Task;
+
+/**
+ * Compares loading and saving of the text and binary snapshot formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StorageFormatBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"TEXT", "BINARY"})
+    public Storage.Format format;
+
+    private ArrayList<Task> tasks;
+    private Storage storage;
+
+    /**
+     * Builds a mixed list of tasks (see {@link BenchData}) and writes it once so that loads have a file to read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        tasks = BenchData.tasks(size);
+        Path dir = Files.createTempDirectory("jack-bench");
+        storage = new Storage(dir, format, false, 1L << 20);
+        storage.save(tasks);
+    }
+
+    @Benchmark
+    public ArrayList<Task> load() throws IOException {
+        return storage.load();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        storage.save(tasks);
+    }
+}
@@ -0,0 +1,50 @@
+package jack.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.model.TaskList;
+
+/**
+ * Measures keyword search: a keyword that matches a few tasks, one that matches a third
+ * of the list and one that matches nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskListBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"meeting 41", "meeting", "absent"})
+    public String keyword;
+
+    private TaskList tasks;
+
+    /**
+     * Builds a mixed list of tasks (see {@link BenchData}).
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(BenchData.tasks(size));
+    }
+
+    @Benchmark
+    public String findTasks() {
+        return tasks.findTasks(keyword);
+    }
+}
@@ -0,0 +1,57 @@
+package jack.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jack.model.TaskList;
+import jack.ui.Ui;
+
+/**
+ * Measures rendering the whole list and its first page into a capturing {@link Ui}, as the
+ * GUI and the server do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class UiBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private TaskList tasks;
+    private Ui ui;
+
+    /**
+     * Builds a mixed list of tasks (see {@link BenchData}).
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(BenchData.tasks(size));
+        ui = new Ui(true);
+    }
+
+    @Benchmark
+    public String showList() {
+        ui.showList(tasks);
+        return ui.getCaptured();
+    }
+
+    @Benchmark
+    public String showPage() {
+        ui.showPage(tasks, 1, 20);
+        return ui.getCaptured();
+    }
+}
@@ -0,0 +1,83 @@
+package jack;
+
+/**
+ * A command line split by {@link Parser#parse} into its {@link Verb} and the offsets of
+ * its parts.
+ * <p>
+ * Parsing checks everything that depends only on the text (a known verb, a description,
+ * the {@code /by}, {@code /from} and {@code /to} parts); indices and dates are resolved
+ * when {@link Parser#execute} runs the command, against the list and the date of that
+ * moment. A command can therefore be queued or executed more than once. Parts are kept
+ * as offsets into the line and only copied into strings where a task needs them.
+ */
+public final class Command {
+    /** The command of a blank line, which does nothing. */
+    static final Command EMPTY = new Command(null, "", 0, 0);
+
+    final Verb verb;
+    final String line;
+
+    /** Arguments after the command word: untrimmed start, end without trailing blanks. */
+    final int argStart;
+    final int argEnd;
+
+    /** Description of a new task, trimmed; empty for other verbs. */
+    int descStart;
+    int descEnd;
+
+    /** The {@code /by} date or {@code /from} time, trimmed; empty if there is none. */
+    int whenStart;
+    int whenEnd;
+
+    /** The {@code /to} time, trimmed; empty if there is none. */
+    int untilStart;
+    int untilEnd;
+
+    Command(Verb verb, String line, int argStart, int argEnd) {
+        this.verb = verb;
+        this.line = line;
+        this.argStart = argStart;
+        this.argEnd = argEnd;
+    }
+
+    /**
+     * Returns the verb of this command.
+     *
+     * @return verb, or {@code null} for a blank line
+     */
+    public Verb verb() {
+        return verb;
+    }
+
+    /**
+     * Returns whether this command only reads the list through snapshots (see
+     * {@link Verb#isSnapshotRead}); a blank line counts as one.
+     *
+     * @return {@code true} if the command may run alongside changes to the list
+     */
+    public boolean isSnapshotRead() {
+        return verb == null || verb.isSnapshotRead();
+    }
+
+    /** Returns whether the arguments are empty or only blanks. */
+    boolean hasArgs() {
+        return Parser.skipBlanks(line, argStart, argEnd) < argEnd;
+    }
+
+    /** Returns the arguments as typed after the command word. */
+    String args() {
+        return line.substring(argStart, argEnd);
+    }
+
+    String description() {
+        return line.substring(descStart, descEnd);
+    }
+
+    String when() {
+        return line.substring(whenStart, whenEnd);
+    }
+
+    String until() {
+        return line.substring(untilStart, untilEnd);
+    }
+}
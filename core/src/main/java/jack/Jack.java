@@ -0,0 +1,277 @@
+package jack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import jack.error.JackException;
+import jack.model.Storage;
+import jack.model.TaskList;
+import jack.ui.Ui;
+/**
+ * The Jack task manager application.
+ * <p>
+ * Wires together the {@code Storage}, {@code TaskList}, and {@code Ui} components,
+ * loads existing tasks from disk, and runs the main event loop. It depends on nothing
+ * but the JDK; the command line ({@code Cli}) and the JavaFX window start it from their
+ * own modules.
+ */
+public class Jack {
+    /** Most failed commands listed individually in the batch summary. */
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private final Storage storage;
+
+    /** In-memory list of tasks currently managed by the application; {@code null} until loaded. */
+    private volatile TaskList tasks;
+    private final Ui ui;
+
+    /** Whether {@link #getResponse} has run an exit command. */
+    private volatile boolean isExited;
+
+    /**
+     * Creates a new {@code Jack} application instance.
+     *
+     * @param isGui true if running with a graphical interface, false otherwise
+     */
+    public Jack(boolean isGui) {
+        this(isGui, true);
+    }
+
+    /**
+     * Creates a new {@code Jack} application instance, optionally leaving the task list to
+     * be loaded later by {@link #load}, e.g. on a background thread while a window opens.
+     * No command may run before the list is loaded.
+     *
+     * @param isGui       true if running with a graphical interface, false otherwise
+     * @param isLoadedNow whether to load the task list before returning
+     */
+    public Jack(boolean isGui, boolean isLoadedNow) {
+        ui = new Ui(isGui);
+        storage = new Storage();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeStorage, "jack-shutdown"));
+        if (isLoadedNow) {
+            load(null);
+        }
+    }
+    public Jack() {
+        this(false);
+    }
+
+    /**
+     * Loads the task list from storage; an unreadable file leaves an empty list and a
+     * loading error in the next reply.
+     *
+     * @param progress receives the fraction loaded, from {@code 0} to {@code 1}, on the
+     *                 calling thread; may be {@code null}
+     * @return number of tasks loaded
+     */
+    public int load(DoubleConsumer progress) {
+        assert tasks == null : "load: the task list is already loaded";
+        TaskList loaded;
+        try {
+            loaded = new TaskList(storage.load(progress), storage.getNextId());
+        } catch (Exception e) {
+            ui.showLoadingError();
+            loaded = new TaskList();
+        }
+        tasks = loaded;
+        Stats.get().watch(loaded, storage);
+        return loaded.size();
+    }
+
+    /**
+     * Returns how long loading the task list took.
+     *
+     * @return milliseconds, or {@code -1} if it has not been loaded from a file
+     */
+    public long getLoadMillis() {
+        long nanos = storage.getLoadNanos();
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+
+
+    /**
+     * Creates a new {@code Jack} application instance.
+     * <p>
+     * This constructor ignores the provided file path and delegates
+     * to the default constructor.
+     *
+     * @param ignoredFilePath unused file path argument
+     */
+    public Jack(String ignoredFilePath) {
+        this();
+    }
+
+    /**
+     * Runs the main event loop until an exit command is received.
+     */
+    public void run() {
+        ui.showWelcome();
+        boolean isExit = false;
+        while (!isExit) {
+            try {
+                String fullCommand = ui.readCommand();
+                // ui.showLine();
+                isExit = Parser.dispatch(fullCommand, tasks, ui, storage);
+            } catch (JackException e) {
+                ui.showError(e.getMessage());
+            } catch (Exception e) {
+                ui.showError("Something went wrong internally: " + e.getClass().getSimpleName());
+            } finally {
+                // ui.showLine();
+                ui.flush();
+            }
+        }
+        closeStorage();
+        ui.close();
+    }
+
+    /**
+     * Runs every command read from {@code in} without prompting, then shows a summary.
+     * <p>
+     * Commands are applied in memory and the task list is saved once at the end, or
+     * additionally after every {@code saveEvery} changes if that is positive. Reading
+     * stops at the end of the input or at {@code bye}.
+     *
+     * @param in        source of commands, one per line
+     * @param saveEvery number of changes between intermediate saves, or {@code 0}
+     * @return number of commands that failed
+     * @throws IOException if the input cannot be read
+     */
+    public int runBatch(BufferedReader in, int saveEvery) throws IOException {
+        long start = System.nanoTime();
+        storage.setDeferred(true);
+        int commands = 0;
+        int saves = 0;
+        int lineNo = 0;
+        List<String> errors = new ArrayList<>();
+        boolean isExit = false;
+        String line;
+        while (!isExit && (line = in.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            commands++;
+            try {
+                isExit = Parser.dispatch(line, tasks, ui, storage);
+            } catch (JackException e) {
+                ui.showError(e.getMessage());
+                errors.add("line " + lineNo + ": " + e.getMessage());
+            } catch (Exception e) {
+                ui.showError("Something went wrong internally: " + e.getClass().getSimpleName());
+                errors.add("line " + lineNo + ": " + e.getClass().getSimpleName());
+            }
+            if (saveEvery > 0 && storage.pendingCommits() >= saveEvery && savePending(errors)) {
+                saves++;
+            }
+        }
+        if (savePending(errors)) {
+            saves++;
+        }
+        storage.setDeferred(false);
+        showBatchSummary(commands, saves, errors, System.nanoTime() - start);
+        closeStorage();
+        ui.close();
+        return errors.size();
+    }
+
+    /**
+     * Serves the task list to local clients until the process is stopped.
+     *
+     * @param port       port to listen on
+     * @param maxClients most connections served at once
+     * @throws IOException if the port cannot be opened
+     * @see Server
+     */
+    public void serve(int port, int maxClients) throws IOException {
+        try (Server server = new Server(tasks, storage, port, maxClients)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "jack-server-shutdown"));
+            ui.showBlock("Serving " + tasks.size() + " tasks on 127.0.0.1:" + server.getPort()
+                    + " to at most " + maxClients + " clients at once.");
+            ui.flush();
+            server.run();
+        } finally {
+            closeStorage();
+            ui.close();
+        }
+    }
+
+    private boolean savePending(List<String> errors) {
+        try {
+            return storage.savePending(tasks);
+        } catch (IOException e) {
+            errors.add("saving failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void showBatchSummary(int commands, int saves, List<String> errors, long nanos) {
+        double seconds = nanos / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Batch done: %d commands in %.2f s (%.0f commands/s), %d failed, %d save%s.",
+                commands, seconds, commands / Math.max(seconds, 1e-9), errors.size(), saves, saves == 1 ? "" : "s"));
+        int shown = Math.min(errors.size(), MAX_REPORTED_ERRORS);
+        lines.addAll(errors.subList(0, shown));
+        if (errors.size() > shown) {
+            lines.add("... and " + (errors.size() - shown) + " more.");
+        }
+        ui.showBlock(lines.toArray(new String[0]));
+    }
+
+    /**
+     * Writes any pending changes and releases the storage, ignoring errors.
+     */
+    private void closeStorage() {
+        try {
+            storage.close();
+        } catch (Exception ignored) {
+            // Intentionally ignored because saving failure is non-critical
+        }
+    }
+
+    /**
+     * Processes a single user input and returns the chatbot's response.
+     * <p>
+     * If the input is an exit command, {@link #hasExited} returns {@code true} afterwards
+     * so that the caller can close its window.
+     *
+     * @param input user input string
+     * @return response string from Jack
+     */
+    public String getResponse(String input) {
+        try {
+            if (Parser.dispatch(input, tasks, ui, storage)) {
+                isExited = true;
+            }
+            String out = ui.getCaptured();
+            return out.isEmpty() ? "(no output)" : out;
+        } catch (JackException e) {
+            return e.getMessage();
+        } catch (Exception e) {
+            return "Something went wrong internally: " + e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Returns whether an exit command was given to {@link #getResponse}.
+     *
+     * @return {@code true} once the user has said {@code bye}
+     */
+    public boolean hasExited() {
+        return isExited;
+    }
+
+    /**
+     * Generates the welcome message shown at application startup.
+     *
+     * @return welcome message string
+     */
+    public String getWelcomeMessage() {
+        ui.showWelcome();
+        return ui.getCaptured();
+    }
+}
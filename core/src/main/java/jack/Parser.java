@@ -0,0 +1,908 @@
+package jack;
+
+import jack.util.NaturalDates;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import jack.error.EmptyDescriptionException;
+import jack.error.InvalidIndexException;
+import jack.error.JackException;
+import jack.error.MissingArgumentException;
+import jack.model.Deadline;
+import jack.model.Event;
+import jack.model.Journal;
+import jack.model.Storage;
+import jack.model.Task;
+import jack.model.TaskList;
+import jack.model.TaskQuery;
+import jack.model.TaskType;
+import jack.model.Todo;
+import jack.ui.Ui;
+
+/**
+ * Parses raw user input and executes the corresponding commands.
+ * <p>
+ * Provides small parsing helpers (splitting tokens, validating indices, parsing dates)
+ * and a single entry point that dispatches a command to the application core.
+ */
+public class Parser {
+    /** Most words a date value in a {@code find} filter may span (e.g., {@code "in 2 days"}). */
+    private static final int MAX_DATE_WORDS = 3;
+
+    /** Most tasks listed individually in the summary of a bulk command. */
+    private static final int MAX_LISTED = 10;
+
+    /** Tasks per page for {@code list PAGE} when no size is given. */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Format of dates in {@code due} and {@code overdue} headers, matching deadline output. */
+    private static final DateTimeFormatter SHOW_DATE = DateTimeFormatter.ofPattern("MMM d yyyy", Locale.ENGLISH);
+
+    /**
+     * Parses a 1-based list index, or a stable {@code #id}, from user input and validates it.
+     *
+     * @param str    the raw index string
+     * @param action name of the action for error messages (e.g., {@code "delete"})
+     * @param tasks  current task list
+     * @return the 1-based index of the selected task
+     * @throws InvalidIndexException if the index is not a valid number or is out of bounds
+     * @throws JackException if no task has the given id
+     */
+    private static int parseIndex(String str, String action, TaskList tasks) throws JackException {
+        return parseIndex(str, 0, str.length(), action, tasks);
+    }
+
+    /**
+     * Parses a 1-based list index, or a stable {@code #id}, from {@code s[from, to)}
+     * without copying it.
+     *
+     * @see #parseIndex(String, String, TaskList)
+     */
+    private static int parseIndex(String s, int from, int to, String action, TaskList tasks) throws JackException {
+        assert action != null && !action.isBlank() : "parseIndex: action label must be non-blank";
+        int start = skipBlanks(s, from, to);
+        int end = trimEnd(s, start, to);
+        if (start < end && s.charAt(start) == '#') {
+            int idx = -1;
+            try {
+                idx = tasks.indexOfId(Integer.parseInt(s, start + 1, end, 10));
+            } catch (NumberFormatException e) {
+                // Reported below, like an unknown id.
+            }
+            if (idx < 0) {
+                throw new JackException("There is no task " + s.substring(start, end) + ".");
+            }
+            return idx + 1;
+        }
+        try {
+            int idx = Integer.parseInt(s, start, end, 10);
+            if (idx < 1 || idx > tasks.size()) {
+                throw new InvalidIndexException(action);
+            }
+            return idx;
+        } catch (NumberFormatException e) {
+            throw new InvalidIndexException(action);
+        }
+    }
+
+    /**
+     * Returns whether the arguments of {@code mark}, {@code unmark} or {@code delete}
+     * select several tasks (a list, a range, {@code all} or {@code done}) rather than
+     * one index.
+     *
+     * @param c parsed command
+     * @return {@code true} for the bulk forms
+     */
+    private static boolean isBulk(Command c) {
+        int start = skipBlanks(c.line, c.argStart, c.argEnd);
+        int end = c.argEnd;
+        for (int i = start; i < end; i++) {
+            char ch = c.line.charAt(i);
+            if (ch == ',' || ch == ' ' || ch == '-' && i > start) {
+                return true;
+            }
+        }
+        return isWord(c.line, start, end, "all") || isWord(c.line, start, end, "done");
+    }
+
+    private static boolean isWord(String s, int from, int to, String word) {
+        return to - from == word.length() && s.regionMatches(true, from, word, 0, word.length());
+    }
+
+    /**
+     * Parses a bulk selection such as {@code 1-200}, {@code 3,7,10-40}, {@code all} or
+     * {@code done}. Every index is validated before anything is returned.
+     *
+     * @param c      parsed command whose arguments select the tasks
+     * @param action name of the action for error messages
+     * @param tasks  current task list
+     * @return selected zero-based indices, ascending and distinct
+     * @throws JackException if any part is not a valid 1-based index or range
+     */
+    private static int[] parseIndices(Command c, String action, TaskList tasks) throws JackException {
+        String s = c.line;
+        int start = skipBlanks(s, c.argStart, c.argEnd);
+        int end = trimEnd(s, start, c.argEnd);
+        if (start == end) {
+            throw new EmptyDescriptionException("task numbers");
+        }
+        BitSet picked = new BitSet(tasks.size());
+        if (isWord(s, start, end, "all")) {
+            picked.set(0, tasks.size());
+        } else if (isWord(s, start, end, "done")) {
+            for (int i = 0; i < tasks.size(); i++) {
+                picked.set(i, tasks.get(i).isDone());
+            }
+        } else {
+            // Parts are separated by runs of commas and blanks; a leading separator leaves an
+            // empty first part, which is rejected like any other bad index.
+            int i = start;
+            while (i < end) {
+                int partEnd = i;
+                while (partEnd < end && !isIndexSeparator(s.charAt(partEnd))) {
+                    partEnd++;
+                }
+                if (partEnd > i || i == start) {
+                    int dash = s.indexOf('-', i + 1);
+                    dash = dash < partEnd ? dash : -1;
+                    int from = parseIndex(s, i, dash < 0 ? partEnd : dash, action, tasks);
+                    int to = dash < 0 ? from : parseIndex(s, dash + 1, partEnd, action, tasks);
+                    if (to < from) {
+                        throw new InvalidIndexException(action);
+                    }
+                    picked.set(from - 1, to);
+                }
+                i = partEnd;
+                while (i < end && isIndexSeparator(s.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        if (picked.isEmpty()) {
+            throw new JackException("No tasks match \"" + s.substring(start, end) + "\".");
+        }
+        return picked.stream().toArray();
+    }
+
+    private static boolean isIndexSeparator(char c) {
+        return c == ',' || isSpace(c);
+    }
+
+    /**
+     * Marks or unmarks several tasks, persisting once.
+     */
+    private static void bulkMark(Command c, boolean isDone, TaskList tasks, Ui ui, Storage storage)
+            throws JackException {
+        int[] idx = parseIndices(c, isDone ? "mark" : "unmark", tasks);
+        String[] records = new String[idx.length];
+        List<Task> changed = new ArrayList<>(idx.length);
+        for (int i = 0; i < idx.length; i++) {
+            Task t = tasks.mark(idx[i], isDone);
+            changed.add(t);
+            records[i] = Journal.marked(t, isDone);
+        }
+        persist(tasks, storage, records);
+        showSummary(ui, isDone ? "Nice! I've marked " + count(idx.length) + " as done:"
+                : "OK, I've marked " + count(idx.length) + " as not done yet:", changed, null);
+    }
+
+    /**
+     * Deletes several tasks in one pass, persisting once.
+     */
+    private static void bulkDelete(Command c, TaskList tasks, Ui ui, Storage storage) throws JackException {
+        int[] idx = parseIndices(c, "delete", tasks);
+        List<Task> removed = tasks.removeAll(idx);
+        String[] records = new String[removed.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = Journal.deleted(removed.get(i));
+        }
+        persist(tasks, storage, records);
+        showSummary(ui, "Noted. I've removed " + count(idx.length) + ":", removed,
+                "Now you have " + tasks.size() + " tasks in the list.");
+    }
+
+    private static String count(int n) {
+        return n == 1 ? "1 task" : n + " tasks";
+    }
+
+    /**
+     * Shows a bulk command's result, listing at most {@link #MAX_LISTED} tasks.
+     */
+    private static void showSummary(Ui ui, String header, List<Task> affected, String footer) {
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+        for (int i = 0; i < Math.min(affected.size(), MAX_LISTED); i++) {
+            lines.add("  " + affected.get(i).render());
+        }
+        if (affected.size() > MAX_LISTED) {
+            lines.add("  ... and " + (affected.size() - MAX_LISTED) + " more.");
+        }
+        if (footer != null) {
+            lines.add(footer);
+        }
+        ui.showBlock(lines.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the first index in {@code [from, to)} that is not blank in the sense of
+     * {@link String#trim}, or {@code to}.
+     */
+    static int skipBlanks(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /** Returns the end of {@code s[from, to)} without trailing blanks. */
+    private static int trimEnd(String s, int from, int to) {
+        while (to > from && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /** Whitespace as matched by {@code \\s} in a regular expression. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Finds the words of {@code s[from, to)}, separated by whitespace as with
+     * {@code \\s+}, without copying them.
+     *
+     * @return start and end offsets of each word, in pairs
+     */
+    private static int[] words(String s, int from, int to) {
+        int[] bounds = new int[8];
+        int n = 0;
+        int i = from;
+        while (true) {
+            while (i < to && isSpace(s.charAt(i))) {
+                i++;
+            }
+            if (i == to) {
+                return Arrays.copyOf(bounds, n);
+            }
+            if (n == bounds.length) {
+                bounds = Arrays.copyOf(bounds, n * 2);
+            }
+            bounds[n++] = i;
+            while (i < to && !isSpace(s.charAt(i))) {
+                i++;
+            }
+            bounds[n++] = i;
+        }
+    }
+
+    /**
+     * Joins words {@code first} to {@code last - 1} of {@code s} with single spaces, taking
+     * the first word from {@code start} on.
+     *
+     * @param words word offsets from {@link #words}
+     */
+    private static String join(String s, int start, int[] words, int first, int last) {
+        StringBuilder sb = new StringBuilder().append(s, start, words[2 * first + 1]);
+        for (int i = first + 1; i < last; i++) {
+            sb.append(' ').append(s, words[2 * i], words[2 * i + 1]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the first {@code token} (e.g., {@code "/by"}) in {@code s[from, to)} that has
+     * whitespace on both sides, like the regular expression {@code \\s+/by\\s+}.
+     *
+     * @param isAtStartOk whether the token may also start right at {@code from}
+     * @return index of the token, or {@code -1} if there is none
+     */
+    private static int findToken(String s, String token, int from, int to, boolean isAtStartOk) {
+        for (int j = s.indexOf(token, from); j >= 0 && j + token.length() < to; j = s.indexOf(token, j + 1)) {
+            boolean isSpaceBefore = j > from ? isSpace(s.charAt(j - 1)) : isAtStartOk;
+            if (isSpaceBefore && isSpace(s.charAt(j + token.length()))) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the start of the whitespace before index {@code j}, not going below {@code from}. */
+    private static int spaceStart(String s, int from, int j) {
+        while (j > from && isSpace(s.charAt(j - 1))) {
+            j--;
+        }
+        return j;
+    }
+
+    /** Returns the end of the whitespace from index {@code j}, not going past {@code to}. */
+    private static int spaceEnd(String s, int j, int to) {
+        while (j < to && isSpace(s.charAt(j))) {
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * Ensures that the given argument is non-null and non-blank.
+     *
+     * @param s    raw argument string
+     * @param what name of the argument for error messages
+     * @return trimmed argument string
+     * @throws EmptyDescriptionException if the argument is null or blank
+     */
+    private static String need(String s, String what) throws JackException {
+        assert what != null && !what.isBlank() : "need: 'what' label must be provided";
+        if (s == null || s.trim().isEmpty()) {
+            throw new EmptyDescriptionException(what);
+        }
+        return s.trim();
+    }
+
+
+    /**
+     * Parses a date string, supporting both ISO formats and natural dates.
+     *
+     * @param s date string to parse
+     * @return parsed {@link LocalDate}
+     * @throws MissingArgumentException if the string is not a valid date
+     */
+    private static LocalDate parseNaturalDate(String s) throws JackException {
+        final String input = need(s, "deadline date");
+        LocalDate date = NaturalDates.tryParse(input, LocalDate.now(Clock.systemDefaultZone()));
+        if (date == null) {
+            throw new MissingArgumentException(
+                    "a valid date (e.g., 2025-10-01, 1 Oct 2025, today, next Mon, in 2 days)"
+            );
+        }
+        return date;
+    }
+
+    /**
+     * Parses the arguments of {@code find} into a {@link TaskQuery}.
+     * <p>
+     * Arguments may contain the filters {@code type:T|D|E}, {@code done:0|1},
+     * {@code before:<date>} and {@code after:<date>} in any order; the remaining words
+     * form the keyword. A date value may span several words (e.g., {@code before:next fri}),
+     * and the longest prefix that is a valid date is used. Without any filter the whole
+     * argument string is the keyword, exactly as before filters existed.
+     *
+     * @param args arguments of the {@code find} command
+     * @return parsed query
+     * @throws JackException if a filter has an invalid value
+     */
+    private static TaskQuery parseQuery(String args) throws JackException {
+        String text = need(args, "search keyword");
+        int[] words = words(text, 0, text.length());
+        int count = words.length / 2;
+        TaskType type = null;
+        Boolean done = null;
+        LocalDate before = null;
+        LocalDate after = null;
+        StringBuilder keyword = new StringBuilder();
+        boolean hasFilter = false;
+        for (int i = 0; i < count; i++) {
+            int start = words[2 * i];
+            int end = words[2 * i + 1];
+            int colon = text.indexOf(':', start);
+            if (colon < 0 || colon >= end) {
+                appendWord(keyword, text, start, end);
+                continue;
+            }
+            if (isWord(text, start, colon, "type")) {
+                type = parseType(text.substring(colon + 1, end));
+            } else if (isWord(text, start, colon, "done")) {
+                done = parseDone(text.substring(colon + 1, end));
+            } else if (isWord(text, start, colon, "before") || isWord(text, start, colon, "after")) {
+                int used = dateWords(text, colon + 1, words, i);
+                LocalDate date = parseNaturalDate(join(text, colon + 1, words, i, i + used));
+                if (isWord(text, start, colon, "before")) {
+                    before = date;
+                } else {
+                    after = date;
+                }
+                i += used - 1;
+            } else {
+                appendWord(keyword, text, start, end);
+                continue;
+            }
+            hasFilter = true;
+        }
+        String kw = hasFilter ? keyword.toString() : text;
+        return new TaskQuery(text, type, done, before, after, kw);
+    }
+
+    private static void appendWord(StringBuilder sb, String s, int start, int end) {
+        if (sb.length() > 0) {
+            sb.append(' ');
+        }
+        sb.append(s, start, end);
+    }
+
+    /**
+     * Returns how many words, starting with word {@code at} of {@code text} read from
+     * {@code start} on, make up the longest valid date; {@code 1} if none does, so the
+     * error names the bad value.
+     */
+    private static int dateWords(String text, int start, int[] words, int at) {
+        LocalDate today = LocalDate.now(Clock.systemDefaultZone());
+        for (int n = Math.min(MAX_DATE_WORDS, words.length / 2 - at); n > 1; n--) {
+            if (NaturalDates.tryParse(join(text, start, words, at, at + n), today) != null) {
+                return n;
+            }
+        }
+        return 1;
+    }
+
+    private static TaskType parseType(String value) throws JackException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "t":
+        case "todo":
+            return TaskType.TODO;
+        case "d":
+        case "deadline":
+            return TaskType.DEADLINE;
+        case "e":
+        case "event":
+            return TaskType.EVENT;
+        default:
+            throw new JackException("Unknown task type \"" + value + "\" (use T, D or E)");
+        }
+    }
+
+    private static Boolean parseDone(String value) throws JackException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "1":
+        case "yes":
+        case "true":
+            return Boolean.TRUE;
+        case "0":
+        case "no":
+        case "false":
+            return Boolean.FALSE;
+        default:
+            throw new JackException("Invalid done filter \"" + value + "\" (use 0 or 1)");
+        }
+    }
+
+    /**
+     * Parses the arguments of {@code due}: either one date or a start and an end date.
+     * <p>
+     * Dates may span several words, so the arguments are first tried as a single date and
+     * then split at each word boundary until both halves are valid dates.
+     *
+     * @param args arguments of the {@code due} command
+     * @return a 2-element array: [first date, last date], both inclusive
+     * @throws JackException if the arguments are not one or two valid dates
+     */
+    private static LocalDate[] parseDueRange(String args) throws JackException {
+        String text = need(args, "date");
+        LocalDate today = LocalDate.now(Clock.systemDefaultZone());
+        LocalDate day = NaturalDates.tryParse(text, today);
+        if (day != null) {
+            return new LocalDate[]{day, day};
+        }
+        int[] words = words(text, 0, text.length());
+        int count = words.length / 2;
+        for (int i = 1; i < count; i++) {
+            LocalDate from = NaturalDates.tryParse(join(text, words[0], words, 0, i), today);
+            LocalDate to = from == null
+                    ? null
+                    : NaturalDates.tryParse(join(text, words[2 * i], words, i, count), today);
+            if (to == null) {
+                continue; // try the next split point
+            }
+            if (from.isAfter(to)) {
+                throw new JackException("The start date must not be after the end date.");
+            }
+            return new LocalDate[]{from, to};
+        }
+        throw new MissingArgumentException("one or two valid dates (e.g., due today, due 2025-10-01 next fri)");
+    }
+
+    /**
+     * Resolves the {@code /from <start> /to <end>} range of an {@code overlap} command.
+     *
+     * @param c parsed {@code overlap} command
+     * @return a 2-element array: [start, end]
+     * @throws JackException if the range cannot be resolved
+     */
+    private static LocalDateTime[] parseTimeRange(Command c) throws JackException {
+        LocalDate today = LocalDate.now(Clock.systemDefaultZone());
+        LocalDateTime[] range = NaturalDates.parseInterval(c.when(), c.until(), today);
+        if (range == null) {
+            throw new MissingArgumentException("a valid time range (e.g., /from tue 2pm /to 4pm)");
+        }
+        return range;
+    }
+
+    /**
+     * Warns about events that overlap an event that was just added, if there are any.
+     */
+    private static void showConflicts(Ui ui, List<Event> conflicts) {
+        List<Event> open = new ArrayList<>();
+        for (Event e : conflicts) {
+            if (!e.isDone()) {
+                open.add(e);
+            }
+        }
+        if (!open.isEmpty()) {
+            showTasks(ui, "Heads up! This overlaps with:", open, "");
+        }
+    }
+
+    /**
+     * Handles {@code list PAGE [SIZE]}.
+     *
+     * @throws JackException if the page or size is not a positive number, or the page
+     *                       is past the end of the list
+     */
+    private static void showPage(Command c, TaskList tasks, Ui ui) throws JackException {
+        int[] words = words(c.line, c.argStart, c.argEnd);
+        if (words.length > 4) {
+            throw new JackException("Usage: list [PAGE] [SIZE]");
+        }
+        int size = words.length == 4
+                ? parsePositive(c.line, words[2], words[3], "page size")
+                : DEFAULT_PAGE_SIZE;
+        int pages = Ui.pageCount(tasks.size(), size);
+        int page = parsePositive(c.line, words[0], words[1], "page");
+        if (page > pages) {
+            throw new JackException("There " + (pages == 1 ? "is only 1 page" : "are only " + pages + " pages")
+                    + " of " + size + " tasks.");
+        }
+        ui.showPage(tasks, page, size);
+    }
+
+    private static int parsePositive(String s, int from, int to, String what) throws JackException {
+        try {
+            int n = Integer.parseInt(s, from, to, 10);
+            if (n >= 1) {
+                return n;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new JackException("The " + what + " must be a positive number.");
+    }
+
+    /**
+     * Displays the given tasks as a numbered list under {@code header}, or {@code none}
+     * if there are no tasks.
+     */
+    private static void showTasks(Ui ui, String header, List<? extends Task> found, String none) {
+        if (found.isEmpty()) {
+            ui.showBlock(none);
+            return;
+        }
+        String[] lines = new String[found.size() + 1];
+        lines[0] = header;
+        for (int i = 0; i < found.size(); i++) {
+            lines[i + 1] = (i + 1) + "." + found.get(i);
+        }
+        ui.showBlock(lines);
+    }
+
+    /**
+     * Persists a mutation of the task list to storage, ignoring any errors.
+     * <p>
+     * If saving fails, the error is silently ignored because persistence
+     * is considered non-critical for command execution.
+     *
+     * @param tasks   the current in-memory task list
+     * @param storage the storage handler
+     * @param records journal records describing the mutation
+     */
+    private static void persist(TaskList tasks, Storage storage, String... records) {
+        try {
+            storage.commit(tasks, records);
+        } catch (Exception ignored) {
+            // Intentionally ignored because saving failure is non-critical
+        }
+    }
+
+    /**
+     * Saves the whole task list, ignoring any errors like {@link #persist}.
+     *
+     * @param tasks   the current in-memory task list
+     * @param storage the storage handler
+     */
+    private static void save(TaskList tasks, Storage storage) {
+        try {
+            storage.save(tasks);
+        } catch (Exception ignored) {
+            // Intentionally ignored because saving failure is non-critical
+        }
+    }
+
+    /**
+     * Displays a confirmation block after a new task is added.
+     *
+     * @param ui    the UI handler to display messages
+     * @param tasks the current in-memory task list
+     * @param t     the newly added task
+     */
+    private static void confirmAdd(Ui ui, TaskList tasks, Task t) {
+        ui.showBlock("Got it. I've added this task as #" + t.getId() + ":", "  " + t,
+                "Now you have " + tasks.size() + " tasks in the list.");
+    }
+
+    /**
+     * Splits a command line into its verb and parts, checking everything that does not
+     * depend on the task list or the date.
+     * <p>
+     * The line is scanned once, in place; apart from the returned {@link Command} nothing
+     * is allocated unless the line is invalid.
+     *
+     * @param fullCommand full input line from the user (e.g., {@code "todo read book"})
+     * @return the parsed command; {@link Command#EMPTY} for a blank line
+     * @throws JackException if the command is unknown or a required part is missing
+     */
+    public static Command parse(String fullCommand) throws JackException {
+        assert fullCommand != null : "parse: fullCommand must not be null";
+        int start = skipBlanks(fullCommand, 0, fullCommand.length());
+        int end = trimEnd(fullCommand, start, fullCommand.length());
+        if (start == end) {
+            return Command.EMPTY;
+        }
+        int space = fullCommand.indexOf(' ', start);
+        int verbEnd = space < 0 || space > end ? end : space;
+        Verb verb = Verb.of(fullCommand, start, verbEnd);
+        if (verb == null) {
+            throw new JackException("I don't recognise the command: \"" + fullCommand.substring(start, end) + "\"");
+        }
+        Command c = new Command(verb, fullCommand, Math.min(verbEnd + 1, end), end);
+        switch (verb) {
+        case TODO:
+            parseDescription(c, c.argEnd, "todo");
+            break;
+        case DEADLINE:
+            parseDeadline(c);
+            break;
+        case EVENT:
+            parseEvent(c);
+            break;
+        case OVERLAP:
+            parseRange(c, skipBlanks(c.line, c.argStart, c.argEnd), true, "time range");
+            break;
+        default:
+        }
+        return c;
+    }
+
+    /** Sets the description of {@code c} to its trimmed arguments up to {@code to}. */
+    private static void parseDescription(Command c, int to, String what) throws JackException {
+        c.descStart = skipBlanks(c.line, c.argStart, to);
+        c.descEnd = trimEnd(c.line, c.descStart, to);
+        if (c.descStart == c.descEnd) {
+            throw new EmptyDescriptionException(what);
+        }
+    }
+
+    /** Splits {@code DESCRIPTION /by DATE}. */
+    private static void parseDeadline(Command c) throws JackException {
+        if (!c.hasArgs()) {
+            throw new EmptyDescriptionException("deadline");
+        }
+        String s = c.line;
+        int by = findToken(s, "/by", skipBlanks(s, c.argStart, c.argEnd), c.argEnd, false);
+        if (by < 0) {
+            throw new MissingArgumentException("/by <yyyy-MM-dd>");
+        }
+        parseDescription(c, spaceStart(s, c.argStart, by), "deadline");
+        c.whenStart = spaceEnd(s, by + 3, c.argEnd);
+        c.whenEnd = c.argEnd;
+    }
+
+    /** Splits {@code DESCRIPTION /from START /to END}. */
+    private static void parseEvent(Command c) throws JackException {
+        if (!c.hasArgs()) {
+            throw new EmptyDescriptionException("event");
+        }
+        int body = skipBlanks(c.line, c.argStart, c.argEnd);
+        int from = parseRange(c, body, false, "event");
+        parseDescription(c, spaceStart(c.line, body, from), "event");
+    }
+
+    /**
+     * Finds {@code /from START /to END} in the arguments of {@code c}, from {@code body}
+     * on, and sets its {@code when} and {@code until} parts.
+     *
+     * @param isAtStartOk whether {@code /from} may come first, without a description
+     * @return index of {@code /from}
+     */
+    private static int parseRange(Command c, int body, boolean isAtStartOk, String what) throws JackException {
+        String s = c.line;
+        if (body == c.argEnd) {
+            throw new EmptyDescriptionException(what);
+        }
+        int from = findToken(s, "/from", body, c.argEnd, isAtStartOk);
+        if (from < 0) {
+            throw new MissingArgumentException("/from <start>");
+        }
+        int afterFrom = spaceEnd(s, from + 5, c.argEnd);
+        int to = findToken(s, "/to", afterFrom, c.argEnd, false);
+        if (to < 0) {
+            throw new MissingArgumentException("/to <end>");
+        }
+        c.whenStart = afterFrom;
+        c.whenEnd = trimEnd(s, afterFrom, spaceStart(s, afterFrom, to));
+        c.untilStart = spaceEnd(s, to + 3, c.argEnd);
+        c.untilEnd = c.argEnd;
+        if (c.whenStart == c.whenEnd) {
+            throw new EmptyDescriptionException("/from <start>");
+        }
+        if (c.untilStart == c.untilEnd) {
+            throw new EmptyDescriptionException("/to <end>");
+        }
+        return from;
+    }
+
+    /**
+     * Parses and executes a single user command, and records its latency in {@link Stats}.
+     *
+     * @param fullCommand full input line from the user (e.g., {@code "todo read book"})
+     * @param tasks       the in-memory task list to read and modify
+     * @param ui          UI helper for producing user-facing messages
+     * @param storage     persistent storage used to save task list updates
+     * @return {@code true} if the command requests program termination (e.g., {@code "bye"}); {@code false} otherwise
+     * @throws JackException if the command is unknown or required arguments are missing/invalid
+     */
+    public static boolean dispatch(String fullCommand, TaskList tasks, Ui ui, Storage storage) throws JackException {
+        long start = System.nanoTime();
+        Command c;
+        try {
+            c = parse(fullCommand);
+        } catch (JackException e) {
+            Stats.get().recordUnrecognised();
+            throw e;
+        }
+        try {
+            return execute(c, tasks, ui, storage);
+        } finally {
+            if (c.verb != null) {
+                Stats.get().record(c.verb, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Executes a parsed command.
+     *
+     * @param c       command from {@link #parse}
+     * @param tasks   the in-memory task list to read and modify
+     * @param ui      UI helper for producing user-facing messages
+     * @param storage persistent storage used to save task list updates
+     * @return {@code true} if the command requests program termination (e.g., {@code "bye"}); {@code false} otherwise
+     * @throws JackException if an index, date or other argument is invalid
+     */
+    public static boolean execute(Command c, TaskList tasks, Ui ui, Storage storage) throws JackException {
+        assert c != null : "execute: command must not be null";
+        assert tasks != null : "execute: tasks must not be null";
+        assert ui != null : "execute: ui must not be null";
+        assert storage != null : "execute: storage must not be null";
+        if (c.verb == null) {
+            return false;
+        }
+
+        switch (c.verb) {
+        case LIST:
+            if (!c.hasArgs()) {
+                ui.showList(tasks);
+                return false;
+            }
+            showPage(c, tasks, ui);
+            return false;
+        case BYE:
+            try {
+                storage.flush();
+            } catch (IOException e) {
+                // Some queued changes were not written; saving the whole list covers them.
+                save(tasks, storage);
+            }
+            ui.showExit();
+            return true;
+
+        case MARK:
+        case UNMARK: {
+            boolean isDone = c.verb == Verb.MARK;
+            if (isBulk(c)) {
+                bulkMark(c, isDone, tasks, ui, storage);
+                return false;
+            }
+            int idx = parseIndex(c.line, c.argStart, c.argEnd, c.verb.word(), tasks);
+            Task t = tasks.mark(idx - 1, isDone);
+            persist(tasks, storage, Journal.marked(t, isDone));
+            ui.showBlock(isDone ? "Nice! I've marked this task as done:" : "OK, I've marked this task as not done yet:",
+                    "  " + t);
+            return false;
+        }
+        case DELETE: {
+            if (isBulk(c)) {
+                bulkDelete(c, tasks, ui, storage);
+                return false;
+            }
+            int idx = parseIndex(c.line, c.argStart, c.argEnd, "delete", tasks);
+            Task removed = tasks.remove(idx - 1);
+            persist(tasks, storage, Journal.deleted(removed));
+            ui.showBlock("Noted. I've removed this task:",
+                    "  " + removed,
+                    "Now you have " + tasks.size() + " tasks in the list.");
+            return false;
+        }
+        case TODO:
+            add(new Todo(c.description()), tasks, ui, storage);
+            return false;
+        case DEADLINE:
+            add(new Deadline(c.description(), parseNaturalDate(c.when())), tasks, ui, storage);
+            return false;
+        case EVENT: {
+            String from = c.when();
+            String to = c.until();
+            LocalDateTime[] when = NaturalDates.parseInterval(from, to, LocalDate.now(Clock.systemDefaultZone()));
+            Event t = when == null
+                    ? new Event(c.description(), from, to)
+                    : new Event(c.description(), from, to, when[0], when[1]);
+            List<Event> conflicts = when == null ? List.of() : tasks.overlapping(when[0], when[1]);
+            add(t, tasks, ui, storage);
+            showConflicts(ui, conflicts);
+            return false;
+        }
+        case AGENDA: {
+            LocalDate day = c.hasArgs() ? parseNaturalDate(c.args()) : LocalDate.now(Clock.systemDefaultZone());
+            String when = day.format(SHOW_DATE);
+            showTasks(ui, "Here is your agenda for " + when + ":", tasks.agenda(day),
+                    "Nothing on your agenda for " + when + ".");
+            return false;
+        }
+        case OVERLAP: {
+            LocalDateTime[] range = parseTimeRange(c);
+            showTasks(ui, "Here are the events overlapping that time:",
+                    tasks.overlapping(range[0], range[1]), "Nothing overlaps that time.");
+            return false;
+        }
+        case FIND: {
+            String result = tasks.query(parseQuery(c.args()));
+            ui.showBlock(result);
+            return false;
+        }
+
+        case OVERDUE: {
+            LocalDate today = LocalDate.now(Clock.systemDefaultZone());
+            showTasks(ui, "Here are your overdue deadlines:",
+                    tasks.dueBetween(null, today.minusDays(1)), "Nothing is overdue. Well done!");
+            return false;
+        }
+        case DUE: {
+            LocalDate[] range = parseDueRange(c.args());
+            String when = range[0].equals(range[1])
+                    ? "on " + range[0].format(SHOW_DATE)
+                    : "from " + range[0].format(SHOW_DATE) + " to " + range[1].format(SHOW_DATE);
+            showTasks(ui, "Here are the open deadlines due " + when + ":",
+                    tasks.dueBetween(range[0], range[1]), "No open deadlines due " + when + ".");
+            return false;
+        }
+
+        case STATS:
+            ui.showBlock(Stats.get().reportLines(tasks, storage));
+            return false;
+
+        default:
+            throw new AssertionError("execute: unhandled verb " + c.verb);
+        }
+    }
+
+    /** Adds a new task, persists it and confirms it. */
+    private static void add(Task t, TaskList tasks, Ui ui, Storage storage) {
+        tasks.add(t);
+        persist(tasks, storage, Journal.added(t));
+        confirmAdd(ui, tasks, t);
+    }
+}
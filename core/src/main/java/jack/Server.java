@@ -0,0 +1,256 @@
+package jack;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jack.error.JackException;
+import jack.model.Storage;
+import jack.model.TaskList;
+import jack.ui.Ui;
+
+/**
+ * Shares one task list between several clients over a line-oriented protocol on the
+ * loopback interface.
+ * <p>
+ * A client sends one command per line and receives Jack's reply, ended by a line that
+ * holds a single {@code "."}; reply lines that start with {@code "."} get a second one
+ * in front, as in SMTP. A welcome reply is sent when the client connects, and
+ * {@code bye} closes the connection.
+ * <p>
+ * Every connection runs on its own virtual thread when the JVM has them (Java 21 and
+ * later) and on a platform thread otherwise, with its own capturing {@link Ui}. At most
+ * {@code maxClients} connections are served at once; a connection is only accepted once a
+ * slot is free, so later clients wait in the operating system's backlog without costing
+ * a thread. Commands that change the list run one at a time,
+ * and a reply is only sent once {@link Storage} has accepted the change, so clients are
+ * slowed down to the pace of the disk instead of piling up work. {@code list}
+ * and {@code stats} only read a snapshot and run alongside them; {@code find} searches
+ * the live indexes and is serialized with the changes.
+ */
+public class Server implements Closeable {
+    /** Line that ends every reply. */
+    static final String END_OF_REPLY = ".";
+
+    /** Connections the operating system may hold before they are accepted. */
+    private static final int BACKLOG = 128;
+
+    private final TaskList tasks;
+    private final Storage storage;
+    private final ServerSocket socket;
+    private final Semaphore slots;
+    private final ExecutorService connections;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    /** Serializes commands that change the list, in arrival order. */
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+
+    private volatile boolean isClosed;
+
+    /**
+     * Opens a server socket on the loopback interface.
+     *
+     * @param tasks      task list shared by all clients
+     * @param storage    storage the changes are committed to
+     * @param port       port to listen on, or {@code 0} for any free port
+     * @param maxClients most connections served at once
+     * @throws IOException if the port cannot be opened
+     */
+    public Server(TaskList tasks, Storage storage, int port, int maxClients) throws IOException {
+        assert maxClients > 0 : "Server: maxClients must be positive";
+        this.tasks = tasks;
+        this.storage = storage;
+        this.socket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.slots = new Semaphore(maxClients);
+        this.connections = newConnectionExecutor();
+    }
+
+    /**
+     * Returns an executor that starts a virtual thread per task if the JVM supports
+     * them, or a daemon platform thread otherwise. Looked up reflectively so that the
+     * code still compiles and runs on Java 17.
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "jack-client");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return local port
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until {@link #close} is called.
+     *
+     * @throws IOException if accepting fails for a reason other than closing
+     */
+    public void run() throws IOException {
+        while (!isClosed) {
+            // Closing the server disconnects every client, which frees their slots.
+            slots.acquireUninterruptibly();
+            boolean isHandedOff = false;
+            try {
+                Socket client;
+                try {
+                    client = socket.accept();
+                } catch (SocketException e) {
+                    if (isClosed) {
+                        return;
+                    }
+                    throw e;
+                }
+                clients.add(client);
+                try {
+                    connections.execute(() -> {
+                        try {
+                            serve(client);
+                        } finally {
+                            clients.remove(client);
+                            slots.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    clients.remove(client);
+                    client.close();
+                    return; // closed meanwhile
+                }
+                isHandedOff = true;
+            } finally {
+                if (!isHandedOff) {
+                    slots.release();
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try {
+            client.setTcpNoDelay(true); // replies are flushed whole; don't wait to coalesce them
+        } catch (SocketException ignored) {
+            // Only slower.
+        }
+        try (client;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            Ui ui = new Ui(true);
+            ui.showWelcome();
+            reply(out, ui.getCaptured());
+            boolean isExit = false;
+            String line;
+            while (!isExit && (line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                isExit = execute(line, ui);
+                reply(out, ui.getCaptured());
+            }
+        } catch (IOException e) {
+            // The client went away; nothing to report to anyone.
+        }
+    }
+
+    /**
+     * Runs one command, holding the write lock unless it only reads snapshots. The line
+     * is parsed before taking the lock; the recorded latency includes waiting for it.
+     *
+     * @return {@code true} if the client asked to disconnect
+     */
+    private boolean execute(String line, Ui ui) {
+        long start = System.nanoTime();
+        Command c;
+        try {
+            c = Parser.parse(line);
+        } catch (JackException e) {
+            Stats.get().recordUnrecognised();
+            ui.showError(e.getMessage());
+            return false;
+        }
+        boolean isLocked = !c.isSnapshotRead();
+        if (isLocked) {
+            writeLock.lock();
+        }
+        try {
+            return Parser.execute(c, tasks, ui, storage);
+        } catch (JackException e) {
+            ui.showError(e.getMessage());
+        } catch (Exception e) {
+            ui.showError("Something went wrong internally: " + e.getClass().getSimpleName());
+        } finally {
+            if (isLocked) {
+                writeLock.unlock();
+            }
+            if (c.verb != null) {
+                Stats.get().record(c.verb, System.nanoTime() - start);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends one reply: every line of {@code text}, with a second {@code "."} in front of
+     * lines that start with one, and then the {@link #END_OF_REPLY} line.
+     */
+    static void reply(Writer out, String text) throws IOException {
+        for (String line : text.split("\\R", -1)) {
+            if (line.startsWith(END_OF_REPLY)) {
+                out.write(END_OF_REPLY);
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(END_OF_REPLY);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Stops accepting connections and disconnects every client.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Closing anyway.
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // Closing anyway.
+            }
+        }
+        connections.shutdown();
+    }
+}
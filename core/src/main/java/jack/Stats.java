@@ -0,0 +1,217 @@
+package jack;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jack.model.Storage;
+import jack.model.TaskList;
+import jack.util.LatencyHistogram;
+
+/**
+ * Collects the latency of every command by {@link Verb}, and reports it together with
+ * the counters of the task list and its {@link Storage}.
+ * <p>
+ * There is one instance per process, like the platform MBean server it is published on.
+ * {@link Parser#dispatch} and the {@link Server} record each command; recording takes
+ * two {@link System#nanoTime} calls and a few atomic increments, and allocates nothing.
+ * The report is shown by the {@code stats} command and exposed through {@link StatsMXBean}.
+ */
+public final class Stats implements StatsMXBean {
+    /** Name the statistics are registered under on the platform MBean server. */
+    public static final String OBJECT_NAME = "jack:type=Stats";
+
+    private static final Stats INSTANCE = new Stats();
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final LatencyHistogram[] commands = new LatencyHistogram[Verb.values().length];
+    private final AtomicLong unrecognised = new AtomicLong();
+
+    /** List and storage reported over JMX; set by {@link #watch}. */
+    private volatile TaskList tasks;
+    private volatile Storage storage;
+
+    private Stats() {
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the statistics of this process.
+     *
+     * @return the single instance
+     */
+    public static Stats get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records how long a command took, from reading its line to its reply.
+     *
+     * @param verb  command that ran
+     * @param nanos duration in nanoseconds
+     */
+    public void record(Verb verb, long nanos) {
+        commands[verb.ordinal()].record(nanos);
+    }
+
+    /**
+     * Counts an input line that was not a known command.
+     */
+    public void recordUnrecognised() {
+        unrecognised.incrementAndGet();
+    }
+
+    /**
+     * Sets the list and storage that {@link StatsMXBean} reports on, and registers this
+     * instance on the platform MBean server if it is not registered yet. Failing to
+     * register only costs the JMX view, so it is ignored.
+     *
+     * @param tasks   task list of the application
+     * @param storage storage of {@code tasks}
+     */
+    public void watch(TaskList tasks, Storage storage) {
+        this.tasks = tasks;
+        this.storage = storage;
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException ignored) {
+            // Not fatal: stats is still available as a command.
+        }
+    }
+
+    /**
+     * Builds the report shown by the {@code stats} command: latency percentiles of every
+     * command that has run, then the counters of {@code tasks} and {@code storage}.
+     *
+     * @param tasks   task list to report the size of
+     * @param storage storage to report the counters of
+     * @return report lines
+     */
+    public String[] reportLines(TaskList tasks, Storage storage) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Command latencies in ms (count: p50 / p90 / p99 / max):");
+        for (Verb v : Verb.values()) {
+            LatencyHistogram h = commands[v.ordinal()];
+            if (h.count() > 0) {
+                lines.add(String.format(Locale.ROOT, "  %-8s %6d: %s / %s / %s / %s", v.word(), h.count(),
+                        millis(h.percentileNanos(0.5)), millis(h.percentileNanos(0.9)),
+                        millis(h.percentileNanos(0.99)), millis(h.maxNanos())));
+            }
+        }
+        if (lines.size() == 1) {
+            lines.add("  (none yet)");
+        }
+        LatencyHistogram saves = storage.getSaveTimes();
+        lines.add("Unrecognised commands: " + unrecognised.get());
+        lines.add("Tasks: " + tasks.size());
+        lines.add("Storage: " + storage.getBytesWritten() + " bytes written, "
+                + storage.getBytesRead() + " bytes read");
+        lines.add("Load: " + (storage.getLoadNanos() < 0 ? "-" : millis(storage.getLoadNanos())) + " ms; "
+                + saves.count() + " full saves, p99 " + millis(saves.percentileNanos(0.99))
+                + " ms, max " + millis(saves.maxNanos()) + " ms");
+        return lines.toArray(new String[0]);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private Map<String, Double> byCommand(ToDoubleFunction<LatencyHistogram> f) {
+        Map<String, Double> m = new TreeMap<>();
+        for (Verb v : Verb.values()) {
+            LatencyHistogram h = commands[v.ordinal()];
+            if (h.count() > 0) {
+                m.put(v.word(), f.applyAsDouble(h) / NANOS_PER_MILLI);
+            }
+        }
+        return m;
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> m = new TreeMap<>();
+        for (Verb v : Verb.values()) {
+            long n = commands[v.ordinal()].count();
+            if (n > 0) {
+                m.put(v.word(), n);
+            }
+        }
+        return m;
+    }
+
+    @Override
+    public Map<String, Double> getCommandP50Millis() {
+        return byCommand(h -> h.percentileNanos(0.5));
+    }
+
+    @Override
+    public Map<String, Double> getCommandP99Millis() {
+        return byCommand(h -> h.percentileNanos(0.99));
+    }
+
+    @Override
+    public Map<String, Double> getCommandMaxMillis() {
+        return byCommand(LatencyHistogram::maxNanos);
+    }
+
+    @Override
+    public long getUnrecognisedCommands() {
+        return unrecognised.get();
+    }
+
+    @Override
+    public int getTaskCount() {
+        TaskList t = tasks;
+        return t == null ? 0 : t.size();
+    }
+
+    @Override
+    public long getStorageBytesWritten() {
+        Storage s = storage;
+        return s == null ? 0 : s.getBytesWritten();
+    }
+
+    @Override
+    public long getStorageBytesRead() {
+        Storage s = storage;
+        return s == null ? 0 : s.getBytesRead();
+    }
+
+    @Override
+    public double getLoadMillis() {
+        Storage s = storage;
+        return s == null || s.getLoadNanos() < 0 ? -1 : s.getLoadNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getSaveCount() {
+        Storage s = storage;
+        return s == null ? 0 : s.getSaveTimes().count();
+    }
+
+    @Override
+    public double getSaveP99Millis() {
+        Storage s = storage;
+        return s == null ? 0 : s.getSaveTimes().percentileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String report() {
+        TaskList t = tasks;
+        Storage s = storage;
+        return t == null || s == null ? "Nothing loaded yet." : String.join(System.lineSeparator(), reportLines(t, s));
+    }
+}
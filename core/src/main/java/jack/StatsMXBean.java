@@ -0,0 +1,95 @@
+package jack;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link Stats}, registered as {@code jack:type=Stats} on the
+ * platform MBean server so that JConsole or any JMX client can read it.
+ * <p>
+ * Durations are in milliseconds; command maps are keyed by the command word.
+ */
+public interface StatsMXBean {
+    /**
+     * Returns how many times each command ran.
+     *
+     * @return counts by command word
+     */
+    Map<String, Long> getCommandCounts();
+
+    /**
+     * Returns the median latency of each command.
+     *
+     * @return milliseconds by command word
+     */
+    Map<String, Double> getCommandP50Millis();
+
+    /**
+     * Returns the 99th percentile latency of each command.
+     *
+     * @return milliseconds by command word
+     */
+    Map<String, Double> getCommandP99Millis();
+
+    /**
+     * Returns the longest latency of each command.
+     *
+     * @return milliseconds by command word
+     */
+    Map<String, Double> getCommandMaxMillis();
+
+    /**
+     * Returns the number of input lines that were not a known command.
+     *
+     * @return unrecognised lines
+     */
+    long getUnrecognisedCommands();
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return list size, or {@code 0} before the list is loaded
+     */
+    int getTaskCount();
+
+    /**
+     * Returns the number of bytes written to the data files.
+     *
+     * @return bytes written since startup
+     */
+    long getStorageBytesWritten();
+
+    /**
+     * Returns the number of bytes read from the data files.
+     *
+     * @return bytes read since startup
+     */
+    long getStorageBytesRead();
+
+    /**
+     * Returns how long loading the task list took at startup.
+     *
+     * @return milliseconds, or {@code -1} if it has not been loaded
+     */
+    double getLoadMillis();
+
+    /**
+     * Returns the number of full saves of the task list.
+     *
+     * @return saves since startup
+     */
+    long getSaveCount();
+
+    /**
+     * Returns the 99th percentile duration of a full save.
+     *
+     * @return milliseconds
+     */
+    double getSaveP99Millis();
+
+    /**
+     * Returns the same report as the {@code stats} command.
+     *
+     * @return multi-line report
+     */
+    String report();
+}
@@ -0,0 +1,126 @@
+package jack;
+
+/**
+ * Enumerates the commands understood by {@link Parser}, keyed by their command word.
+ * <p>
+ * {@link #of} looks a word up in a table indexed by its first letter, comparing in
+ * place, so recognizing a command allocates nothing.
+ */
+public enum Verb {
+    /** Lists all tasks, or one page of them. */
+    LIST("list", true),
+
+    /** Ends the session. */
+    BYE("bye", false),
+
+    /** Marks tasks as done. */
+    MARK("mark", false),
+
+    /** Marks tasks as not done. */
+    UNMARK("unmark", false),
+
+    /** Removes tasks. */
+    DELETE("delete", false),
+
+    /** Adds a to-do. */
+    TODO("todo", false),
+
+    /** Adds a deadline. */
+    DEADLINE("deadline", false),
+
+    /** Adds an event. */
+    EVENT("event", false),
+
+    /** Shows the events and deadlines of a day. */
+    AGENDA("agenda", false),
+
+    /** Shows the events overlapping a time range. */
+    OVERLAP("overlap", false),
+
+    /** Searches tasks by keyword and filters. */
+    FIND("find", false),
+
+    /** Shows open deadlines that have passed. */
+    OVERDUE("overdue", false),
+
+    /** Shows open deadlines due on a day or within a range. */
+    DUE("due", false),
+
+    /** Shows command latencies and storage counters (see {@link Stats}). */
+    STATS("stats", true);
+
+    /** Verbs by the first letter of their word, {@code 'a'} to {@code 'z'}. */
+    private static final Verb[][] BY_FIRST_LETTER = new Verb[26][];
+
+    static {
+        for (int c = 0; c < BY_FIRST_LETTER.length; c++) {
+            int count = 0;
+            for (Verb v : values()) {
+                count += v.word.charAt(0) == 'a' + c ? 1 : 0;
+            }
+            BY_FIRST_LETTER[c] = new Verb[count];
+            for (Verb v : values()) {
+                if (v.word.charAt(0) == 'a' + c) {
+                    BY_FIRST_LETTER[c][--count] = v;
+                }
+            }
+        }
+    }
+
+    /** Command word, in lower case. */
+    private final String word;
+
+    /** Whether the command only reads the list through a snapshot or a single query. */
+    private final boolean isSnapshotRead;
+
+    Verb(String word, boolean isSnapshotRead) {
+        this.word = word;
+        this.isSnapshotRead = isSnapshotRead;
+    }
+
+    /**
+     * Finds the verb whose word is {@code s[from, to)}, ignoring case.
+     *
+     * @param s    text containing the word
+     * @param from start of the word, inclusive
+     * @param to   end of the word, exclusive
+     * @return the verb, or {@code null} if the word is not a command
+     */
+    static Verb of(String s, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int first = Character.toLowerCase(s.charAt(from)) - 'a';
+        if (first < 0 || first >= BY_FIRST_LETTER.length) {
+            return null;
+        }
+        int length = to - from;
+        for (Verb v : BY_FIRST_LETTER[first]) {
+            if (v.word.length() == length && s.regionMatches(true, from, v.word, 0, length)) {
+                return v;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the command word.
+     *
+     * @return word in lower case (e.g., {@code "todo"})
+     */
+    public String word() {
+        return word;
+    }
+
+    /**
+     * Returns whether the command only reads an immutable
+     * {@link jack.model.TaskList#snapshot snapshot} of the task list, so that it never
+     * waits for other threads changing the list. {@code find} is not one: its indexes
+     * belong to the live list, so {@link jack.model.TaskList#query} holds the list's monitor.
+     *
+     * @return {@code true} for {@code list} and {@code stats}
+     */
+    public boolean isSnapshotRead() {
+        return isSnapshotRead;
+    }
+}
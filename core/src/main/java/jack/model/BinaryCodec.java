@@ -0,0 +1,322 @@
+package jack.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Encodes and decodes tasks in the compact binary snapshot format.
+ * <p>
+ * Layout (all varints are unsigned LEB128):
+ * <pre>
+ * header : "JACK" version:u8 gen:varint nextId:varint count:varint
+ * task   : flags:u8 id:varint description:str [by:i32 | from:str to:str [start:i64 end:i64]]
+ * str    : length:varint utf8-bytes
+ * </pre>
+ * {@code flags} packs the {@link TaskType} ordinal in bits 1-2 and the done flag in
+ * bit 0. Deadlines store {@code by} as a big-endian epoch-day int. Since version 2,
+ * bit 3 marks an event with a resolved interval, stored as big-endian epoch seconds
+ * (UTC, i.e. the local date-time taken as is). Since version 3 every task starts with
+ * its {@link Task#id id} plus one ({@code 0} if it has none). Since version 4 the header
+ * holds the id the next new task gets, so that the ids of deleted tasks are not handed
+ * out again. Older versions are still read.
+ */
+final class BinaryCodec {
+    /** File signature; the first byte can never start a text task line. */
+    private static final byte[] MAGIC = {'J', 'A', 'C', 'K'};
+
+    /** Current format version. */
+    private static final int VERSION = 4;
+
+    /** First version that stores task ids. */
+    private static final int VERSION_IDS = 3;
+
+    /** First version that stores the next task id. */
+    private static final int VERSION_NEXT_ID = 4;
+
+    /** Oldest format version that can still be read. */
+    private static final int MIN_VERSION = 1;
+
+    /** Flag bit of an event that carries a resolved interval. */
+    private static final int HAS_INTERVAL = 1 << 3;
+
+    /** Flag bits that hold the {@link TaskType} ordinal. */
+    private static final int TYPE_MASK = 0b110;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private BinaryCodec() {}
+
+    /**
+     * Returns whether the given leading bytes of a file carry the binary signature.
+     *
+     * @param head first bytes of the file
+     * @param len  number of valid bytes in {@code head}
+     * @return {@code true} if the file is in binary format
+     */
+    static boolean isBinary(byte[] head, int len) {
+        if (len < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a snapshot of {@code tasks}.
+     *
+     * @param os     destination; not closed by this method
+     * @param tasks  tasks to write, in order
+     * @param gen    journal generation covered by the snapshot
+     * @param nextId id the next new task gets
+     * @throws IOException if the stream cannot be written
+     */
+    static void write(OutputStream os, List<Task> tasks, long gen, int nextId) throws IOException {
+        Out out = new Out(os);
+        out.bytes(MAGIC, MAGIC.length);
+        out.u8(VERSION);
+        out.varint(gen);
+        out.varint(nextId);
+        out.varint(tasks.size());
+        for (Task t : tasks) {
+            boolean hasInterval = t instanceof Event && ((Event) t).hasInterval();
+            out.u8(t.type.ordinal() << 1 | (t.isDone ? 1 : 0) | (hasInterval ? HAS_INTERVAL : 0));
+            out.varint(t.id + 1L);
+            out.string(t.description);
+            if (t instanceof Deadline) {
+                out.i32((int) ((Deadline) t).by.toEpochDay());
+            } else if (t instanceof Event) {
+                Event e = (Event) t;
+                out.string(e.from);
+                out.string(e.to);
+                if (hasInterval) {
+                    out.i64(e.start.toEpochSecond(ZoneOffset.UTC));
+                    out.i64(e.end.toEpochSecond(ZoneOffset.UTC));
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a snapshot, appending its tasks to {@code out}.
+     * <p>
+     * A truncated file yields the tasks read before the truncation.
+     *
+     * @param is     source positioned at the signature; not closed by this method
+     * @param out    list receiving the tasks, in order
+     * @param nextId receives the next task id in its first element (from version 4 on)
+     * @return journal generation covered by the snapshot
+     * @throws IOException if the stream cannot be read or is not a supported snapshot
+     */
+    static long read(InputStream is, List<Task> out, int[] nextId) throws IOException {
+        In in = new In(is);
+        for (byte b : MAGIC) {
+            if (in.u8() != (b & 0xFF)) {
+                throw new IOException("Not a binary task snapshot");
+            }
+        }
+        int version = in.u8();
+        if (version < MIN_VERSION || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long gen = in.varint();
+        if (version >= VERSION_NEXT_ID) {
+            nextId[0] = (int) Math.min(Math.max(nextId[0], in.varint()), Integer.MAX_VALUE);
+        }
+        long count = in.varint();
+        try {
+            for (long i = 0; i < count; i++) {
+                out.add(readTask(in, version >= VERSION_IDS));
+            }
+        } catch (EOFException ignored) {
+            // Keep what was written before the file was cut short, like skipped text lines.
+        }
+        return gen;
+    }
+
+    private static Task readTask(In in, boolean hasId) throws IOException {
+        int flags = in.u8();
+        long id = hasId ? in.varint() - 1 : -1;
+        if (id > Integer.MAX_VALUE) {
+            throw new IOException("Corrupted task id " + id);
+        }
+        int type = (flags & TYPE_MASK) >>> 1;
+        if (type >= TYPES.length || (flags & ~(TYPE_MASK | HAS_INTERVAL | 1)) != 0) {
+            throw new IOException("Corrupted task flags " + flags);
+        }
+        String desc = in.string();
+        Task t;
+        switch (TYPES[type]) {
+        case DEADLINE:
+            t = new Deadline(desc, LocalDate.ofEpochDay(in.i32()));
+            break;
+        case EVENT: {
+            String from = in.string();
+            String to = in.string();
+            if ((flags & HAS_INTERVAL) != 0) {
+                LocalDateTime start = LocalDateTime.ofEpochSecond(in.i64(), 0, ZoneOffset.UTC);
+                LocalDateTime end = LocalDateTime.ofEpochSecond(in.i64(), 0, ZoneOffset.UTC);
+                t = new Event(desc, from, to, start, end);
+            } else {
+                t = new Event(desc, from, to);
+            }
+            break;
+        }
+        default:
+            t = new Todo(desc);
+        }
+        if ((flags & 1) != 0) {
+            t.markAsDone();
+        }
+        t.id = (int) id;
+        return t;
+    }
+
+    /** Minimal buffered writer for the primitives used by the format. */
+    private static final class Out {
+        private final OutputStream os;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos;
+
+        Out(OutputStream os) {
+            this.os = os;
+        }
+
+        void u8(int v) throws IOException {
+            if (pos == buf.length) {
+                flush();
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void i32(int v) throws IOException {
+            u8(v >>> 24);
+            u8(v >>> 16);
+            u8(v >>> 8);
+            u8(v);
+        }
+
+        void i64(long v) throws IOException {
+            i32((int) (v >>> 32));
+            i32((int) v);
+        }
+
+        void varint(long v) throws IOException {
+            while ((v & ~0x7FL) != 0) {
+                u8((int) (v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            u8((int) v);
+        }
+
+        void string(String s) throws IOException {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length);
+            bytes(b, b.length);
+        }
+
+        void bytes(byte[] b, int len) throws IOException {
+            if (len > buf.length - pos) {
+                flush();
+            }
+            if (len > buf.length) {
+                os.write(b, 0, len);
+                return;
+            }
+            System.arraycopy(b, 0, buf, pos, len);
+            pos += len;
+        }
+
+        void flush() throws IOException {
+            os.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    /** Minimal buffered reader for the primitives used by the format. */
+    private static final class In {
+        private final InputStream is;
+        private byte[] buf = new byte[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+
+        In(InputStream is) {
+            this.is = is;
+        }
+
+        int u8() throws IOException {
+            if (pos == limit) {
+                fill();
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        int i32() throws IOException {
+            return u8() << 24 | u8() << 16 | u8() << 8 | u8();
+        }
+
+        long i64() throws IOException {
+            return (long) i32() << 32 | i32() & 0xFFFFFFFFL;
+        }
+
+        long varint() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return v;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        String string() throws IOException {
+            long len = varint();
+            if (len > Integer.MAX_VALUE - 8) {
+                throw new IOException("String too long: " + len);
+            }
+            int n = (int) len;
+            if (limit - pos < n) {
+                // Move the remaining bytes to the front, growing the buffer if needed.
+                byte[] target = n > buf.length ? new byte[n] : buf;
+                System.arraycopy(buf, pos, target, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+                buf = target;
+                while (limit < n) {
+                    int r = is.read(buf, limit, buf.length - limit);
+                    if (r < 0) {
+                        throw new EOFException();
+                    }
+                    limit += r;
+                }
+            }
+            String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+
+        private void fill() throws IOException {
+            int r = is.read(buf, 0, buf.length);
+            if (r < 0) {
+                throw new EOFException();
+            }
+            pos = 0;
+            limit = r;
+        }
+    }
+}
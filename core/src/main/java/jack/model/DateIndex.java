@@ -0,0 +1,109 @@
+package jack.model;
+
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Sorted index from a date (as an epoch day) to the ids of the tasks on that date.
+ * <p>
+ * Range lookups walk only the days inside the range, so they cost
+ * {@code O(log d + k)} for {@code d} distinct days and {@code k} results.
+ */
+final class DateIndex {
+    private final NavigableMap<Long, Postings> byDay = new TreeMap<>();
+    private int size;
+
+    /**
+     * Adds a task id under the given day.
+     *
+     * @param id  task id
+     * @param day epoch day
+     */
+    void add(int id, long day) {
+        Postings p = byDay.computeIfAbsent(day, d -> new Postings());
+        int before = p.size();
+        p.add(id);
+        size += p.size() - before;
+    }
+
+    /**
+     * Removes a task id from the given day.
+     *
+     * @param id  task id
+     * @param day epoch day it was added under
+     */
+    void remove(int id, long day) {
+        Postings p = byDay.get(day);
+        if (p == null) {
+            return;
+        }
+        int before = p.size();
+        p.remove(id);
+        size -= before - p.size();
+        if (p.size() == 0) {
+            byDay.remove(day);
+        }
+    }
+
+    /**
+     * Returns the number of indexed ids.
+     *
+     * @return number of ids
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Counts the ids whose day lies in {@code [from, to]}.
+     *
+     * @param from first epoch day, inclusive
+     * @param to   last epoch day, inclusive
+     * @return number of ids in the range
+     */
+    int count(long from, long to) {
+        if (from > to) {
+            return 0;
+        }
+        int n = 0;
+        for (Postings p : byDay.subMap(from, true, to, true).values()) {
+            n += p.size();
+        }
+        return n;
+    }
+
+    /**
+     * Returns the ids whose day lies in {@code [from, to]}, in ascending id order.
+     *
+     * @param from first epoch day, inclusive
+     * @param to   last epoch day, inclusive
+     * @return ids in the range
+     */
+    int[] ids(long from, long to) {
+        int[] out = idsByDay(from, to);
+        Arrays.sort(out);
+        return out;
+    }
+
+    /**
+     * Returns the ids whose day lies in {@code [from, to]}, ordered by day and then by id.
+     *
+     * @param from first epoch day, inclusive
+     * @param to   last epoch day, inclusive
+     * @return ids in the range
+     */
+    int[] idsByDay(long from, long to) {
+        int[] out = new int[count(from, to)];
+        if (out.length == 0) {
+            return out;
+        }
+        int n = 0;
+        for (Postings p : byDay.subMap(from, true, to, true).values()) {
+            for (int i = 0; i < p.size(); i++) {
+                out[n++] = p.get(i);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,96 @@
+package jack.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Represents an event task with a start and end time.
+ * <p>
+ * The endpoints are kept as typed. When they could be resolved into date-times, the
+ * resolved interval is kept as well, which places the event on the calendar for
+ * overlap and agenda queries.
+ */
+public class Event extends Task {
+    /** Start time of the event (stored as a string). */
+    protected String from;
+
+    /** End time of the event (stored as a string). */
+    protected String to;
+
+    /** Resolved start, or {@code null} if the endpoints could not be resolved. */
+    protected LocalDateTime start;
+
+    /** Resolved end (not before {@link #start}), or {@code null} if unresolved. */
+    protected LocalDateTime end;
+
+    /**
+     * Creates a new {@code Event} task.
+     *
+     * @param description description of the event
+     * @param from start time of the event
+     * @param to end time of the event
+     */
+    public Event(String description, String from, String to) {
+        super(description, TaskType.EVENT);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates a new {@code Event} task with a resolved time interval.
+     *
+     * @param description description of the event
+     * @param from start time of the event, as typed
+     * @param to end time of the event, as typed
+     * @param start resolved start, or {@code null}
+     * @param end resolved end, or {@code null}
+     */
+    public Event(String description, String from, String to, LocalDateTime start, LocalDateTime end) {
+        this(description, from, to);
+        assert (start == null) == (end == null) : "Event: start and end must be resolved together";
+        assert start == null || !end.isBefore(start) : "Event: end must not be before start";
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns whether the endpoints were resolved into date-times.
+     *
+     * @return {@code true} if {@link #getStart()} and {@link #getEnd()} are set
+     */
+    public boolean hasInterval() {
+        return start != null;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Converts a date-time to minutes since the epoch, the unit of {@link IntervalTree}.
+     *
+     * @param t date-time to convert
+     * @return minutes since 1970-01-01T00:00
+     */
+    static long minutes(LocalDateTime t) {
+        return Math.floorDiv(t.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Returns the string representation of this event for display to the user.
+     * <p>
+     * The format includes the type symbol, status icon, description,
+     * and the event time range.
+     *
+     * @return formatted event string
+     */
+    @Override
+    public String toString() {
+        return "[" + type.getSymbol() + "][" + getStatusIcon() + "] "
+                + description + " (from: " + from + " to: " + to + ")";
+    }
+}
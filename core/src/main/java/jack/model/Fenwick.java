@@ -0,0 +1,99 @@
+package jack.model;
+
+/**
+ * Fenwick (binary indexed) tree of small non-negative counts over slots {@code 0..n-1}.
+ * <p>
+ * {@link TaskList} keeps one with a {@code 1} for every live slot and a {@code 0} for
+ * every tombstone, which turns "the k-th live task" and "how many live tasks come
+ * before this one" into {@code O(log n)} lookups.
+ */
+final class Fenwick {
+    /** One-based tree array; {@code tree[i]} covers slots {@code (i - lowbit(i), i]}. */
+    private int[] tree;
+
+    /**
+     * Builds a tree over {@code n} slots that all hold {@code 1}, with room to grow.
+     *
+     * @param n number of slots
+     */
+    Fenwick(int n) {
+        tree = new int[Math.max(16, Integer.highestOneBit(Math.max(1, n)) << 1) + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += i <= n ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the count of {@code slot}, growing the tree if needed.
+     *
+     * @param slot  zero-based slot
+     * @param delta amount to add
+     */
+    void add(int slot, int delta) {
+        if (slot + 1 >= tree.length) {
+            grow(slot + 1);
+        }
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the counts of slots {@code 0..slot}.
+     *
+     * @param slot zero-based slot, inclusive
+     * @return prefix sum
+     */
+    int prefix(int slot) {
+        int sum = 0;
+        for (int i = Math.min(slot + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the slot holding the {@code k}-th unit, i.e. the smallest slot whose prefix
+     * sum exceeds {@code k}.
+     *
+     * @param k zero-based rank; must be below the total count
+     * @return zero-based slot
+     */
+    int select(int k) {
+        int pos = 0;
+        int remaining = k + 1;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    /** Doubles the tree until it covers {@code slots} slots; new slots hold {@code 0}. */
+    private void grow(int slots) {
+        int size = tree.length - 1;
+        int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            counts[i] = prefix(i) - (i == 0 ? 0 : prefix(i - 1));
+        }
+        int newSize = size;
+        while (newSize < slots + 1) {
+            newSize <<= 1;
+        }
+        tree = new int[newSize + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += i <= size ? counts[i - 1] : 0;
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
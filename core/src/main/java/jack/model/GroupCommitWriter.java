@@ -0,0 +1,246 @@
+package jack.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background thread that performs {@link Storage} writes on behalf of the command thread.
+ * <p>
+ * Commits that arrive close together are merged into one group commit: their journal
+ * records are appended in a single write, and only the newest list is saved when the
+ * whole file is rewritten. A group is written as soon as it holds {@code maxBatch}
+ * commits or its oldest commit has waited {@code maxLatency}.
+ * <p>
+ * A group that cannot be written is not retried, since part of it may already be in the
+ * journal; its error is kept and thrown by the next {@link #flush} or {@link #close}, so
+ * that the caller can save the whole list instead.
+ */
+final class GroupCommitWriter {
+    /** A queued commit, flush barrier or shutdown request. */
+    private static final class Request {
+        final List<Task> tasks;
+        final String[] records;
+        final CountDownLatch barrier;
+        final boolean isStop;
+
+        Request(List<Task> tasks, String[] records, CountDownLatch barrier, boolean isStop) {
+            this.tasks = tasks;
+            this.records = records;
+            this.barrier = barrier;
+            this.isStop = isStop;
+        }
+    }
+
+    private final Storage storage;
+    private final long maxLatencyNanos;
+    private final int maxBatch;
+    /** Queued requests; submitters block while it is full, which slows them to the disk's pace. */
+    private final BlockingQueue<Request> queue;
+    private final Thread thread;
+
+    /** Set by {@link #close}; guarded by this writer's monitor, like the enqueueing of commits. */
+    private boolean isClosed;
+
+    /** Counted down once the stop request has been handled; set together with {@link #isClosed}. */
+    private CountDownLatch stopped;
+
+    /** First error of a group written since the last {@link #flush}, or {@code null}. */
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    /**
+     * Creates and starts a writer for the given storage.
+     *
+     * @param storage          storage that performs the actual writes
+     * @param maxLatencyMillis longest time a commit may wait for others to join its group
+     * @param maxBatch         largest number of commits merged into one group
+     * @param maxQueued        most commits waiting to be written before submitters block
+     */
+    GroupCommitWriter(Storage storage, long maxLatencyMillis, int maxBatch, int maxQueued) {
+        assert maxLatencyMillis >= 0 : "maxLatency must not be negative";
+        assert maxBatch > 0 : "maxBatch must be positive";
+        assert maxQueued > 0 : "maxQueued must be positive";
+        this.storage = storage;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(maxQueued);
+        this.thread = new Thread(this::loop, "jack-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a commit.
+     * <p>
+     * {@code tasks} must be a copy owned by the writer, or {@code null} if only the
+     * journal records are needed.
+     *
+     * @param tasks   list to save in full, or {@code null}
+     * @param records journal records describing the mutation
+     * @return {@code false} if the writer is already closed, or the calling thread was
+     *         interrupted while waiting for room in the queue, and the caller must write itself
+     */
+    synchronized boolean submit(List<Task> tasks, String[] records) {
+        return !isClosed && enqueue(new Request(tasks, records, null, false));
+    }
+
+    /**
+     * Blocks until every commit queued before this call has been written.
+     * <p>
+     * The barrier is queued under the monitor, so it can never end up behind the stop
+     * request; once the writer is closed, this waits for the stop request instead.
+     *
+     * @throws IOException if a group written since the last flush could not be written
+     */
+    void flush() throws IOException {
+        if (Thread.currentThread() != thread) {
+            CountDownLatch done;
+            synchronized (this) {
+                if (isClosed) {
+                    done = stopped;
+                } else {
+                    done = new CountDownLatch(1);
+                    if (!enqueue(new Request(null, null, done, false))) {
+                        done = null;
+                    }
+                }
+            }
+            if (done != null) {
+                awaitQuietly(done);
+            }
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Writes every queued commit and stops the writer thread.
+     * <p>
+     * Holding the monitor while the stop request is queued means that no commit can be
+     * queued behind it: a {@link #submit} that comes later returns {@code false}.
+     *
+     * @throws IOException if a group written since the last flush could not be written
+     */
+    void close() throws IOException {
+        CountDownLatch done;
+        synchronized (this) {
+            if (isClosed) {
+                done = stopped;
+            } else {
+                isClosed = true;
+                stopped = new CountDownLatch(1);
+                done = stopped;
+                enqueueUninterruptibly(new Request(null, null, done, true));
+            }
+        }
+        awaitQuietly(done);
+        rethrowFailure();
+    }
+
+    private void rethrowFailure() throws IOException {
+        IOException e = failure.getAndSet(null);
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a request, waiting for room if the queue is full.
+     *
+     * @return {@code false} if the calling thread was interrupted and nothing was queued
+     */
+    private boolean enqueue(Request r) {
+        try {
+            queue.put(r);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Queues the stop request even if interrupted, since waiters rely on it being handled. */
+    private void enqueueUninterruptibly(Request r) {
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                queue.put(r);
+                break;
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loop() {
+        List<String> records = new ArrayList<>();
+        boolean isRunning = true;
+        while (isRunning) {
+            records.clear();
+            List<Task> latest = null;
+            Request r = take();
+            long deadline = System.nanoTime() + maxLatencyNanos;
+            int merged = 0;
+            while (r != null) {
+                if (r.barrier != null) {
+                    break;
+                }
+                merged++;
+                records.addAll(Arrays.asList(r.records));
+                if (r.tasks != null) {
+                    latest = r.tasks;
+                }
+                r = merged < maxBatch ? poll(deadline - System.nanoTime()) : null;
+            }
+            if (merged > 0) {
+                write(latest, records);
+            }
+            if (r != null) {
+                r.barrier.countDown();
+                isRunning = !r.isStop;
+            }
+        }
+    }
+
+    private void write(List<Task> latest, List<String> records) {
+        try {
+            storage.apply(latest, records);
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private Request take() {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException ignored) {
+                // The writer only stops on an explicit close(), so that nothing queued is lost.
+            }
+        }
+    }
+
+    private Request poll(long timeoutNanos) {
+        try {
+            return queue.poll(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ignored) {
+            return null;
+        }
+    }
+}
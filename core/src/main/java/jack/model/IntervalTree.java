@@ -0,0 +1,168 @@
+package jack.model;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of half-open time intervals {@code [start, end)}, each tagged with a task id,
+ * supporting overlap queries.
+ * <p>
+ * The intervals are kept in a treap ordered by {@code (start, id)}; every node also
+ * records the largest {@code end} in its subtree. A query skips any subtree whose
+ * largest end is not after the query start, and everything right of a node that
+ * starts at or after the query end, so it costs {@code O(log n + k)} expected for
+ * {@code k} results. Times are in minutes (see {@link Event#minutes}).
+ */
+final class IntervalTree {
+    private static final class Node {
+        final long start;
+        final long end;
+        final int id;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long start, long end, int id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an interval. An empty interval is stored as lasting one minute so that it
+     * still overlaps the moment it happens at.
+     *
+     * @param id    task id
+     * @param start start minute, inclusive
+     * @param end   end minute, exclusive; not before {@code start}
+     */
+    void add(int id, long start, long end) {
+        assert end >= start : "interval must not end before it starts";
+        Node n = new Node(start, Math.max(end, start + 1), id, random.nextInt());
+        Node[] parts = split(root, start, id);
+        root = merge(merge(parts[0], n), parts[1]);
+        size++;
+    }
+
+    /**
+     * Removes an interval previously added with the same id and start.
+     *
+     * @param id    task id
+     * @param start start minute it was added with
+     */
+    void remove(int id, long start) {
+        root = remove(root, start, id);
+    }
+
+    /**
+     * Returns the number of intervals.
+     *
+     * @return number of intervals
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes the id of every interval overlapping {@code [from, to)} to {@code action},
+     * in order of start time (ties by id).
+     *
+     * @param from   query start minute, inclusive
+     * @param to     query end minute, exclusive
+     * @param action receives the ids
+     */
+    void overlapping(long from, long to, IntConsumer action) {
+        overlapping(root, from, to, action);
+    }
+
+    private static void overlapping(Node n, long from, long to, IntConsumer action) {
+        if (n == null || n.maxEnd <= from) {
+            return;
+        }
+        overlapping(n.left, from, to, action);
+        if (n.start >= to) {
+            return;
+        }
+        if (n.end > from) {
+            action.accept(n.id);
+        }
+        overlapping(n.right, from, to, action);
+    }
+
+    private static boolean isBefore(long start, int id, Node n) {
+        return start < n.start || start == n.start && id < n.id;
+    }
+
+    /** Splits {@code n} into the nodes ordered before {@code (start, id)} and the rest. */
+    private static Node[] split(Node n, long start, int id) {
+        if (n == null) {
+            return new Node[2];
+        }
+        if (isBefore(start, id, n)) {
+            Node[] parts = split(n.left, start, id);
+            n.left = parts[1];
+            update(n);
+            parts[1] = n;
+            return parts;
+        }
+        Node[] parts = split(n.right, start, id);
+        n.right = parts[0];
+        update(n);
+        parts[0] = n;
+        return parts;
+    }
+
+    /** Joins two treaps where every node of {@code a} is ordered before every node of {@code b}. */
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private Node remove(Node n, long start, int id) {
+        if (n == null) {
+            return null;
+        }
+        if (n.start == start && n.id == id) {
+            size--;
+            return merge(n.left, n.right);
+        }
+        if (isBefore(start, id, n)) {
+            n.left = remove(n.left, start, id);
+        } else {
+            n.right = remove(n.right, start, id);
+        }
+        update(n);
+        return n;
+    }
+
+    private static void update(Node n) {
+        long max = n.end;
+        if (n.left != null && n.left.maxEnd > max) {
+            max = n.left.maxEnd;
+        }
+        if (n.right != null && n.right.maxEnd > max) {
+            max = n.right.maxEnd;
+        }
+        n.maxEnd = max;
+    }
+}
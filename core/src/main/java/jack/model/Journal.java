@@ -0,0 +1,454 @@
+package jack.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only log of task list mutations, used by {@link Storage} in journaled mode.
+ * <p>
+ * Every journal file starts with a {@code # gen N} header followed by one record per line:
+ * <pre>
+ * add | T | 0 | read book | #12
+ * mark | #12
+ * unmark | #12
+ * delete | #12
+ * </pre>
+ * Tasks are named by their stable {@link Task#id id}. Records written before ids
+ * existed use a zero-based position in the list at the time of the mutation instead
+ * ({@code mark | 3}) and are still replayed. The ids of replayed {@code add} records are
+ * remembered (see {@link #nextId()}), so a task added and deleted since the last
+ * snapshot still counts towards the next id. A snapshot
+ * written with generation {@code S} already contains every journal whose generation is
+ * below {@code S}, so those journals are skipped on replay.
+ */
+public final class Journal {
+    /** Prefix of the header line carrying the generation number. */
+    static final String GEN_HEADER = "# gen ";
+
+    private final Path current;
+    private final Path rotated;
+
+    private BufferedWriter out;
+    private long gen;
+    private long bytes;
+
+    /** One more than the largest id added by any replayed record, or {@code 0}. */
+    private int nextId;
+
+    /** Bytes written to and replayed from journal files since this journal was created. */
+    private long bytesWritten;
+    private long bytesRead;
+
+    /**
+     * Creates a journal stored next to the given snapshot file.
+     *
+     * @param snapshot path of the snapshot file the journal belongs to
+     */
+    Journal(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        this.current = snapshot.resolveSibling(name + ".journal");
+        this.rotated = snapshot.resolveSibling(name + ".journal.old");
+    }
+
+    /**
+     * Encodes the addition of a task at the end of the list.
+     *
+     * @param t task that was added
+     * @return journal record
+     */
+    public static String added(Task t) {
+        return "add | " + TextCodec.encode(t);
+    }
+
+    /**
+     * Encodes a change of the done flag of the task at {@code idx}.
+     *
+     * @param idx  zero-based index of the task
+     * @param done new done flag
+     * @return journal record
+     */
+    public static String marked(int idx, boolean done) {
+        return (done ? "mark | " : "unmark | ") + idx;
+    }
+
+    /**
+     * Encodes a change of the done flag of a task, by id.
+     *
+     * @param t    task whose flag changed
+     * @param done new done flag
+     * @return journal record
+     */
+    public static String marked(Task t, boolean done) {
+        return (done ? "mark | #" : "unmark | #") + t.id;
+    }
+
+    /**
+     * Encodes the removal of a task, by id.
+     *
+     * @param t task that was removed
+     * @return journal record
+     */
+    public static String deleted(Task t) {
+        return "delete | #" + t.id;
+    }
+
+    /**
+     * Encodes the removal of the task at {@code idx}.
+     *
+     * @param idx zero-based index of the removed task
+     * @return journal record
+     */
+    public static String deleted(int idx) {
+        return "delete | " + idx;
+    }
+
+    /**
+     * Replays any journals that are newer than the snapshot into {@code tasks} and opens
+     * the current journal for appending.
+     *
+     * @param tasks       tasks read from the snapshot; updated in place
+     * @param snapshotGen generation recorded in the snapshot ({@code 0} if none)
+     * @return {@code true} if a rotated journal still has to be compacted into the snapshot
+     * @throws IOException if a journal cannot be read or opened
+     */
+    synchronized boolean recover(List<Task> tasks, long snapshotGen) throws IOException {
+        boolean pending = false;
+        long next = snapshotGen;
+        if (Files.exists(rotated)) {
+            long g = readGen(rotated);
+            if (g >= snapshotGen) {
+                replay(rotated, tasks);
+                pending = true;
+                next = g + 1;
+            } else {
+                Files.delete(rotated);
+            }
+        }
+        if (Files.exists(current)) {
+            long g = readGen(current);
+            if (g >= next) {
+                replay(current, tasks);
+                gen = g;
+                bytes = Files.size(current);
+                out = Files.newBufferedWriter(current, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                return pending;
+            }
+        }
+        reset(next);
+        return pending;
+    }
+
+    /**
+     * Appends records to the current journal and flushes them to the file.
+     *
+     * @param records records to append, in order
+     * @return size of the current journal in bytes after the append
+     * @throws IOException if the journal cannot be written
+     */
+    synchronized long append(List<String> records) throws IOException {
+        assert out != null : "journal must be opened before appending";
+        long before = bytes;
+        for (String r : records) {
+            out.write(r);
+            out.newLine();
+            bytes += r.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+        }
+        out.flush();
+        bytesWritten += bytes - before;
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes written to journal files so far.
+     *
+     * @return bytes appended, headers included
+     */
+    synchronized long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of bytes of journal files replayed so far.
+     *
+     * @return bytes read by recovery and compaction
+     */
+    synchronized long bytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Moves the current journal aside and starts a fresh one with the next generation.
+     * <p>
+     * The rotated journal is kept until {@link #compacted()} is called, so that a crash
+     * before the new snapshot is in place does not lose any records.
+     *
+     * @return generation that the compacted snapshot must be written with
+     * @throws IOException if the journal files cannot be moved or created
+     */
+    synchronized long rotate() throws IOException {
+        assert !Files.exists(rotated) : "previous compaction has not finished";
+        out.close();
+        Files.move(current, rotated, StandardCopyOption.ATOMIC_MOVE);
+        reset(gen + 1);
+        return gen;
+    }
+
+    /**
+     * Discards the current journal and starts a fresh one after a full snapshot has been
+     * written with generation {@code snapshotGen}.
+     *
+     * @param snapshotGen generation of the snapshot that now holds every record
+     * @throws IOException if the journal cannot be recreated
+     */
+    synchronized void restart(long snapshotGen) throws IOException {
+        if (out != null) {
+            out.close();
+        }
+        reset(snapshotGen);
+    }
+
+    /**
+     * Returns the generation of the current journal.
+     *
+     * @return current generation
+     */
+    synchronized long gen() {
+        return gen;
+    }
+
+    /**
+     * Returns the id after the largest one added by the journals replayed so far.
+     *
+     * @return next task id implied by the journals, or {@code 0} if they added none
+     */
+    synchronized int nextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns whether a rotated journal is still waiting to be compacted.
+     *
+     * @return {@code true} if the rotated journal file exists
+     */
+    boolean hasRotated() {
+        return Files.exists(rotated);
+    }
+
+    /**
+     * Replays the rotated journal into {@code tasks}.
+     *
+     * @param tasks       tasks read from the snapshot; updated in place
+     * @param snapshotGen generation recorded in the snapshot
+     * @throws IOException if the rotated journal cannot be read
+     */
+    void replayRotated(List<Task> tasks, long snapshotGen) throws IOException {
+        if (Files.exists(rotated) && readGen(rotated) >= snapshotGen) {
+            replay(rotated, tasks);
+        }
+    }
+
+    /**
+     * Deletes the rotated journal once its records are part of the snapshot.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    void compacted() throws IOException {
+        Files.deleteIfExists(rotated);
+    }
+
+    /**
+     * Deletes both journal files; used once their records have been moved elsewhere.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    synchronized void delete() throws IOException {
+        close();
+        Files.deleteIfExists(current);
+        Files.deleteIfExists(rotated);
+    }
+
+    /**
+     * Closes the current journal.
+     *
+     * @throws IOException if the journal cannot be flushed
+     */
+    synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void reset(long newGen) throws IOException {
+        gen = newGen;
+        String header = GEN_HEADER + gen;
+        out = Files.newBufferedWriter(current, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        out.write(header);
+        out.newLine();
+        out.flush();
+        bytes = header.length() + System.lineSeparator().length();
+        bytesWritten += bytes;
+    }
+
+    private static long readGen(Path p) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            String first = in.readLine();
+            return parseGen(first);
+        }
+    }
+
+    /**
+     * Parses a {@code # gen N} header line.
+     *
+     * @param line line to parse, may be {@code null}
+     * @return the generation, or {@code 0} if the line is not a header
+     */
+    static long parseGen(String line) {
+        if (line == null || !line.startsWith(GEN_HEADER)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(line.substring(GEN_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void replay(Path p, List<Task> tasks) throws IOException {
+        long size = Files.size(p);
+        synchronized (this) {
+            bytesRead += size;
+        }
+        Replayer r = new Replayer(tasks);
+        try (BufferedReader in = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                r.apply(line);
+            }
+        }
+        r.finish();
+        synchronized (this) {
+            nextId = Math.max(nextId, r.nextId);
+        }
+    }
+
+    /**
+     * Applies a single journal record to {@code tasks}.
+     * <p>
+     * Headers, blank lines and records that no longer apply (e.g., a torn last line after
+     * a crash) are ignored. Replaying many records is faster through a {@link Replayer}.
+     *
+     * @param record journal record
+     * @param tasks  list to update
+     */
+    static void apply(String record, List<Task> tasks) {
+        Replayer r = new Replayer(tasks);
+        r.apply(record);
+        r.finish();
+    }
+
+    /**
+     * Applies a sequence of records to a list, finding tasks by id through a map, and
+     * removing deleted tasks in one pass at the end (or before a record that uses a
+     * position).
+     * <p>
+     * Tasks without a saved id get theirs just before the first record that names a task
+     * by id, using the same rule as {@link TaskList}, so they receive the ids that the
+     * session which wrote the record had given them.
+     */
+    static final class Replayer {
+        private final List<Task> tasks;
+        private final Set<Task> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        private Map<Integer, Task> byId;
+
+        /** One more than the largest id of an added task, or {@code 0}. */
+        int nextId;
+
+        Replayer(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        void apply(String record) {
+            int bar = record.indexOf('|');
+            if (bar < 0) {
+                return;
+            }
+            String op = record.substring(0, bar).trim();
+            String arg = record.substring(bar + 1).trim();
+            try {
+                switch (op) {
+                case "add": {
+                    Task t = TextCodec.decode(arg);
+                    if (t != null) {
+                        tasks.add(t);
+                        nextId = Math.max(nextId, t.id + 1);
+                        if (byId != null && t.id >= 0) {
+                            byId.put(t.id, t);
+                        }
+                    }
+                    break;
+                }
+                case "mark":
+                    find(arg).markAsDone();
+                    break;
+                case "unmark":
+                    find(arg).markAsNotDone();
+                    break;
+                case "delete": {
+                    Task t = find(arg);
+                    removed.add(t);
+                    if (byId != null) {
+                        byId.remove(t.id);
+                    }
+                    break;
+                }
+                default:
+                }
+            } catch (NumberFormatException | IndexOutOfBoundsException ignored) {
+                // A record that does not fit the list is dropped, like a corrupted snapshot line.
+            }
+        }
+
+        /** Resolves {@code #id} or a legacy zero-based position. */
+        private Task find(String arg) {
+            if (!arg.startsWith("#")) {
+                finish();
+                return tasks.get(Integer.parseInt(arg));
+            }
+            if (byId == null) {
+                finish();
+                TaskList.assignMissingIds(tasks);
+                byId = new HashMap<>();
+                for (Task t : tasks) {
+                    byId.put(t.id, t);
+                }
+            }
+            Task t = byId.get(Integer.parseInt(arg.substring(1)));
+            if (t == null) {
+                throw new IndexOutOfBoundsException("No task " + arg);
+            }
+            return t;
+        }
+
+        /** Removes the tasks deleted so far from the list. */
+        void finish() {
+            if (!removed.isEmpty()) {
+                tasks.removeIf(removed::contains);
+                removed.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package jack.model;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable set of task ids used as a posting list by the {@link TaskList} indexes.
+ */
+final class Postings {
+    private int[] ids = new int[4];
+    private int size;
+
+    /**
+     * Adds an id; appending an id larger than all others is O(1).
+     *
+     * @param id task id
+     */
+    void add(int id) {
+        int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+        if (at >= 0 && at < size) {
+            return; // already present
+        }
+        at = at < 0 ? -at - 1 : at;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        ids[at] = id;
+        size++;
+    }
+
+    /**
+     * Removes an id if present.
+     *
+     * @param id task id
+     */
+    void remove(int id) {
+        int at = Arrays.binarySearch(ids, 0, size, id);
+        if (at >= 0) {
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Returns whether the id is present.
+     *
+     * @param id task id
+     * @return {@code true} if present
+     */
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Returns the id at the given position in ascending order.
+     *
+     * @param i position, {@code 0 <= i < size()}
+     * @return the id
+     */
+    int get(int i) {
+        return ids[i];
+    }
+
+    /**
+     * Returns the number of ids.
+     *
+     * @return number of ids
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,731 @@
+package jack.model;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+
+import jack.util.LatencyHistogram;
+
+/**
+ * Handles saving and loading of tasks to and from disk.
+ * <p>
+ * Tasks are stored in a text file {@code data/jack.txt} using a simple
+ * pipe-delimited format. Each line encodes one task, including its type,
+ * completion status, and description (plus additional fields for deadlines
+ * and events).
+ * <p>
+ * In journaled mode (system property {@code jack.storage.journal=true}), each mutation
+ * is appended to a small {@link Journal} instead of rewriting the whole file. Once the
+ * journal grows past a threshold it is rotated and merged into {@code jack.txt} on a
+ * background thread.
+ * <p>
+ * With {@code jack.storage.async=true}, writes are handed to a {@link GroupCommitWriter}
+ * thread so the caller never waits for the disk; {@link #flush()} waits for them.
+ * <p>
+ * With {@code jack.storage.format=binary}, snapshots are written to {@code data/jack.bin}
+ * in the compact {@link BinaryCodec} format instead. Loading detects the format from the
+ * file contents, and an existing {@code jack.txt} is migrated once, then kept as
+ * {@code jack.txt.bak}.
+ * <p>
+ * Snapshots also record the id the next new task gets, which only ever grows, so that
+ * the id of a deleted task is not given to another task after a restart.
+ */
+public class Storage {
+    /** On-disk format of the snapshot file. */
+    public enum Format {
+        /** Pipe-delimited text, one task per line ({@code jack.txt}). */
+        TEXT,
+
+        /** Compact binary encoding ({@code jack.bin}). */
+        BINARY
+    }
+
+    /** Journal size (bytes) after which the snapshot is compacted by default. */
+    private static final long DEFAULT_COMPACT_BYTES = 1L << 20;
+
+    /** Default longest wait (ms) for a commit to be grouped with later ones. */
+    private static final long DEFAULT_MAX_LATENCY_MS = 10;
+
+    /** Default largest number of commits written as one group. */
+    private static final int DEFAULT_MAX_BATCH = 1024;
+
+    /** Default number of commits the background writer may fall behind by. */
+    private static final int DEFAULT_MAX_QUEUED = 1 << 16;
+
+    /** Default text snapshot size (bytes) from which it is decoded in parallel. */
+    private static final long DEFAULT_PARALLEL_LOAD_BYTES = 8L << 20;
+
+    /** Directory used to store the data file. */
+    private final Path dir;
+
+    /** File path for storing tasks. */
+    private final Path file;
+
+    /** Format used when writing {@link #file}. */
+    private final Format format;
+
+    /** Mutation log, or {@code null} if every change rewrites the whole file. */
+    private final Journal journal;
+
+    /** Journal size in bytes that triggers a background compaction. */
+    private final long compactBytes;
+
+    /** Text snapshot size in bytes from which loading is split across cores. */
+    private final long parallelLoadBytes =
+            Long.getLong("jack.storage.parallelLoadBytes", DEFAULT_PARALLEL_LOAD_BYTES);
+
+    private ExecutorService compactor;
+    private Future<?> compaction;
+
+    /** Background writer, or {@code null} if commits are written on the calling thread. */
+    private volatile GroupCommitWriter writer;
+
+    /** Whether {@link #commit} only counts mutations until {@link #savePending}. */
+    private boolean isDeferred;
+
+    /** Mutations committed while deferred and not yet saved. */
+    private int pendingCommits;
+
+    /** Highest next task id seen in a snapshot, a journal or a saved list, or {@code 0}. */
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** Bytes of snapshot files written and read; journal bytes are counted by {@link Journal}. */
+    private final AtomicLong snapshotBytesWritten = new AtomicLong();
+    private final AtomicLong snapshotBytesRead = new AtomicLong();
+
+    /** Duration of the last {@link #load}, or {@code -1} before the first. */
+    private volatile long loadNanos = -1;
+
+    /** Durations of full snapshot writes, including background compactions. */
+    private final LatencyHistogram saveTimes = new LatencyHistogram();
+
+    /**
+     * Creates a storage handler for {@code data/jack.txt}, configured from system properties.
+     */
+    public Storage() {
+        this(Paths.get("data"),
+                "binary".equalsIgnoreCase(System.getProperty("jack.storage.format")) ? Format.BINARY : Format.TEXT,
+                Boolean.getBoolean("jack.storage.journal"),
+                Long.getLong("jack.storage.journal.compactBytes", DEFAULT_COMPACT_BYTES));
+        if (Boolean.getBoolean("jack.storage.async")) {
+            enableAsyncWrites(Long.getLong("jack.storage.async.maxLatencyMs", DEFAULT_MAX_LATENCY_MS),
+                    Integer.getInteger("jack.storage.async.maxBatch", DEFAULT_MAX_BATCH),
+                    Integer.getInteger("jack.storage.async.maxQueued", DEFAULT_MAX_QUEUED));
+        }
+    }
+
+    /**
+     * Creates a storage handler for {@code jack.txt} inside the given directory.
+     *
+     * @param dir          directory holding the data file
+     * @param journaled    whether mutations are appended to a journal
+     * @param compactBytes journal size in bytes that triggers a compaction
+     */
+    public Storage(Path dir, boolean journaled, long compactBytes) {
+        this(dir, Format.TEXT, journaled, compactBytes);
+    }
+
+    /**
+     * Creates a storage handler writing the given format inside the given directory.
+     *
+     * @param dir          directory holding the data file
+     * @param format       format of the snapshot file
+     * @param journaled    whether mutations are appended to a journal
+     * @param compactBytes journal size in bytes that triggers a compaction
+     */
+    public Storage(Path dir, Format format, boolean journaled, long compactBytes) {
+        assert compactBytes > 0 : "compaction threshold must be positive";
+        this.dir = dir;
+        this.format = format;
+        this.file = dir.resolve(format == Format.BINARY ? "jack.bin" : "jack.txt");
+        this.journal = journaled ? new Journal(file) : null;
+        this.compactBytes = compactBytes;
+    }
+
+    /**
+     * Moves all subsequent {@link #commit} writes onto a background group-commit thread.
+     *
+     * @param maxLatencyMillis longest time a commit may wait to be grouped with later ones
+     * @param maxBatch         largest number of commits written as one group
+     */
+    public void enableAsyncWrites(long maxLatencyMillis, int maxBatch) {
+        enableAsyncWrites(maxLatencyMillis, maxBatch, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Moves all subsequent {@link #commit} writes onto a background group-commit thread
+     * that may fall behind by at most {@code maxQueued} commits; beyond that,
+     * {@link #commit} blocks until the writer catches up.
+     *
+     * @param maxLatencyMillis longest time a commit may wait to be grouped with later ones
+     * @param maxBatch         largest number of commits written as one group
+     * @param maxQueued        most commits waiting to be written
+     */
+    public synchronized void enableAsyncWrites(long maxLatencyMillis, int maxBatch, int maxQueued) {
+        if (writer == null) {
+            writer = new GroupCommitWriter(this, maxLatencyMillis, maxBatch, maxQueued);
+        }
+    }
+
+    /**
+     * Loads tasks from the data file.
+     * <p>
+     * If the file does not exist, returns an empty list.
+     * Lines that cannot be parsed are ignored. In journaled mode, records newer
+     * than the snapshot are replayed on top of it.
+     *
+     * @return list of tasks loaded from file
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public ArrayList<Task> load() throws IOException {
+        return load(null);
+    }
+
+    /**
+     * Loads tasks like {@link #load()}, reporting how far reading the snapshot has got.
+     *
+     * @param progress receives the fraction done, from {@code 0} to {@code 1}, on the
+     *                 calling thread and about once per percent; may be {@code null}
+     * @return list of tasks loaded from file
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public ArrayList<Task> load(DoubleConsumer progress) throws IOException {
+        assert dir != null && file != null : "Storage paths must be initialized";
+        long start = System.nanoTime();
+        ArrayList<Task> tasks = new ArrayList<>();
+        if (format == Format.BINARY && !Files.exists(file) && Files.exists(dir.resolve("jack.txt"))) {
+            migrateFromText();
+        }
+        long gen = readSnapshot(tasks, progress);
+        if (journal != null) {
+            Files.createDirectories(dir);
+            if (journal.recover(tasks, gen)) {
+                scheduleCompaction(journal.gen());
+            }
+            raiseNextId(journal.nextId());
+        }
+        raiseNextId(maxId(tasks) + 1);
+        loadNanos = System.nanoTime() - start;
+        if (progress != null) {
+            progress.accept(1);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the id the next new task should get, as recorded by the last {@link #load}
+     * or save. It is never lower than one more than the largest id loaded, and stays above
+     * the ids of tasks that have since been deleted.
+     *
+     * @return next task id, or {@code 0} if nothing has been loaded or saved
+     */
+    public int getNextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Returns the number of bytes written to the snapshot and journal files so far.
+     *
+     * @return bytes written by this storage
+     */
+    public long getBytesWritten() {
+        return snapshotBytesWritten.get() + (journal == null ? 0 : journal.bytesWritten());
+    }
+
+    /**
+     * Returns the number of bytes read from the snapshot and journal files so far.
+     *
+     * @return bytes read by this storage, including background compactions
+     */
+    public long getBytesRead() {
+        return snapshotBytesRead.get() + (journal == null ? 0 : journal.bytesRead());
+    }
+
+    /**
+     * Returns how long the last {@link #load} took.
+     *
+     * @return duration in nanoseconds, or {@code -1} if nothing was loaded yet
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Returns the durations of full snapshot writes: saves, compactions and the rewrites
+     * of non-journaled commits.
+     *
+     * @return live histogram of write durations
+     */
+    public LatencyHistogram getSaveTimes() {
+        return saveTimes;
+    }
+
+    /**
+     * Saves all tasks to the data file, creating the folder/file if needed.
+     * <p>
+     * Existing file contents are replaced with the current list of tasks.
+     * In journaled mode the journal is emptied afterwards.
+     *
+     * @param tasks tasks to save
+     * @throws IOException if an I/O error occurs while writing the file
+     */
+    public void save(ArrayList<Task> tasks) throws IOException {
+        flushReplaced();
+        writeAll(tasks);
+    }
+
+    /**
+     * Saves an immutable {@link TaskList#snapshot snapshot} of {@code tasks}, like
+     * {@link #save(ArrayList)}.
+     *
+     * @param tasks task list to save
+     * @throws IOException if an I/O error occurs while writing the file
+     */
+    public void save(TaskList tasks) throws IOException {
+        flushReplaced();
+        raiseNextId(tasks.nextId());
+        writeAll(tasks.snapshot());
+    }
+
+    private void writeAll(List<Task> tasks) throws IOException {
+        if (journal == null) {
+            if (!Files.exists(dir)) {
+                Files.createDirectories(dir);
+            }
+            writeFile(file, tasks, -1);
+            return;
+        }
+        awaitCompaction();
+        long gen = journal.gen() + 1;
+        writeSnapshot(tasks, gen);
+        journal.restart(gen);
+        journal.compacted();
+    }
+
+    /**
+     * Persists a mutation that has already been applied to {@code tasks}.
+     * <p>
+     * In journaled mode only the given records are appended; otherwise the whole
+     * list is saved. With async writes enabled this only queues the commit, and while
+     * {@link #setDeferred deferred} it only counts it.
+     *
+     * @param tasks   current list of tasks
+     * @param records journal records describing the mutation (see {@link Journal})
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void commit(ArrayList<Task> tasks, String... records) throws IOException {
+        if (isDeferred) {
+            pendingCommits++;
+            return;
+        }
+        GroupCommitWriter w = writer;
+        // A shallow copy is enough: later mutations are followed by their own commit.
+        if (w == null || !w.submit(journal == null ? new ArrayList<>(tasks) : null, records)) {
+            apply(tasks, Arrays.asList(records));
+        }
+    }
+
+    /**
+     * Persists a mutation that has already been applied to {@code tasks}, like
+     * {@link #commit(ArrayList, String...)}. When the whole list has to be written, an
+     * immutable {@link TaskList#snapshot snapshot} is written, so other threads may keep
+     * changing the list while it is encoded.
+     *
+     * @param tasks   current task list
+     * @param records journal records describing the mutation (see {@link Journal})
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void commit(TaskList tasks, String... records) throws IOException {
+        if (isDeferred) {
+            pendingCommits++;
+            return;
+        }
+        List<Task> snapshot = journal == null ? tasks.snapshot() : null;
+        raiseNextId(tasks.nextId());
+        GroupCommitWriter w = writer;
+        if (w == null || !w.submit(snapshot, records)) {
+            apply(snapshot, Arrays.asList(records));
+        }
+    }
+
+    /**
+     * Starts or stops deferring commits.
+     * <p>
+     * While deferred, {@link #commit} writes nothing; the caller saves the whole list
+     * with {@link #savePending} when it sees fit. This suits bulk input, where one save
+     * replaces thousands of individual writes.
+     *
+     * @param deferred whether to defer commits
+     */
+    public void setDeferred(boolean deferred) {
+        this.isDeferred = deferred;
+    }
+
+    /**
+     * Returns the number of commits deferred since the last {@link #savePending}.
+     *
+     * @return number of unsaved commits
+     */
+    public int pendingCommits() {
+        return pendingCommits;
+    }
+
+    /**
+     * Saves {@code tasks} in full if any commit has been deferred since the last save.
+     *
+     * @param tasks current list of tasks
+     * @return {@code true} if the list was written
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public boolean savePending(TaskList tasks) throws IOException {
+        if (pendingCommits == 0) {
+            return false;
+        }
+        save(tasks);
+        pendingCommits = 0;
+        return true;
+    }
+
+    /**
+     * Blocks until every commit queued by the background writer is on disk.
+     * <p>
+     * If the writer failed to write some commits, the error is thrown once; the caller
+     * should then {@link #save} the whole list, which also covers the lost commits.
+     *
+     * @throws IOException if a queued commit could not be written since the last flush
+     */
+    public void flush() throws IOException {
+        GroupCommitWriter w = writer;
+        if (w != null) {
+            w.flush();
+        }
+    }
+
+    /** Waits for queued commits before a full save, which replaces any that failed. */
+    private void flushReplaced() {
+        try {
+            flush();
+        } catch (IOException ignored) {
+            // The full list written next holds every change the failed commits described.
+        }
+    }
+
+    /**
+     * Writes one or more commits: appends their records in journaled mode, otherwise
+     * saves {@code tasks}.
+     *
+     * @param tasks   newest list of tasks, used when the whole file is rewritten
+     * @param records journal records of every commit, in order
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void apply(List<Task> tasks, List<String> records) throws IOException {
+        if (journal == null) {
+            writeAll(tasks);
+            return;
+        }
+        if (journal.append(records) < compactBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (compaction != null && !compaction.isDone()) {
+                return;
+            }
+            long gen = journal.hasRotated() ? journal.gen() : journal.rotate();
+            scheduleCompaction(gen);
+        }
+    }
+
+    /**
+     * Writes every pending commit, waits for any background compaction and closes the journal.
+     *
+     * @throws IOException if a pending commit could not be written or the journal cannot be closed
+     */
+    public void close() throws IOException {
+        GroupCommitWriter w;
+        synchronized (this) {
+            w = writer;
+            writer = null;
+        }
+        try {
+            if (w != null) {
+                w.close();
+            }
+        } finally {
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        awaitCompaction();
+        synchronized (this) {
+            if (compactor != null) {
+                compactor.shutdown();
+            }
+        }
+        journal.close();
+    }
+
+    private synchronized void scheduleCompaction(long gen) {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "jack-compactor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        compaction = compactor.submit(() -> {
+            compact(gen);
+            return null;
+        });
+    }
+
+    private void awaitCompaction() {
+        Future<?> pending;
+        synchronized (this) {
+            pending = compaction;
+        }
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (ExecutionException ignored) {
+            // A failed compaction leaves the rotated journal in place; it is retried later.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Merges the rotated journal into the snapshot, without touching the in-memory list.
+     */
+    private void compact(long gen) throws IOException {
+        ArrayList<Task> merged = new ArrayList<>();
+        long snapshotGen = readSnapshot(merged, null);
+        journal.replayRotated(merged, snapshotGen);
+        raiseNextId(journal.nextId());
+        writeSnapshot(merged, gen);
+        journal.compacted();
+    }
+
+    /**
+     * Converts the text snapshot (and its journal) into a binary snapshot, once.
+     * <p>
+     * The text file is kept as {@code jack.txt.bak}; {@link #readSnapshot} then reads
+     * the freshly written binary file as usual.
+     */
+    private void migrateFromText() throws IOException {
+        Storage legacy = new Storage(dir, Format.TEXT, journal != null, compactBytes);
+        List<Task> tasks = legacy.load();
+        raiseNextId(legacy.getNextId());
+        writeFile(file, tasks, journal == null ? -1 : 0);
+        legacy.close();
+        if (legacy.journal != null) {
+            legacy.journal.delete();
+        }
+        Files.move(legacy.file, dir.resolve("jack.txt.bak"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the snapshot file into {@code tasks}, detecting its format from the first bytes.
+     * <p>
+     * Text snapshots of at least {@code jack.storage.parallelLoadBytes} are read whole and
+     * decoded on the common fork-join pool; smaller ones are streamed on this thread.
+     *
+     * @return generation recorded in the snapshot header, or {@code 0} if there is none
+     */
+    private long readSnapshot(ArrayList<Task> tasks, DoubleConsumer progress) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long size = Files.size(file);
+        snapshotBytesRead.addAndGet(size);
+        int[] next = new int[1];
+        try {
+            return readSnapshot(tasks, progress, size, next);
+        } finally {
+            raiseNextId(next[0]);
+        }
+    }
+
+    /** Reads a snapshot file of {@code size} bytes, storing its next task id in {@code next[0]}. */
+    private long readSnapshot(ArrayList<Task> tasks, DoubleConsumer progress, long size, int[] next)
+            throws IOException {
+        tasks.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, size / TextCodec.BYTES_PER_TASK_ESTIMATE));
+        if (size >= parallelLoadBytes && size < Integer.MAX_VALUE - 8) {
+            // Reading is about half of the work; decoding on all cores reports no progress.
+            byte[] buf = progress == null ? Files.readAllBytes(file) : readWithProgress((int) size, progress);
+            if (!BinaryCodec.isBinary(buf, buf.length)) {
+                return TextCodec.decodeParallel(buf, tasks, ForkJoinPool.commonPool(), next);
+            }
+        }
+        InputStream raw = Files.newInputStream(file);
+        if (progress != null) {
+            raw = new ProgressInputStream(raw, size, 1.0, progress);
+        }
+        try (PushbackInputStream in = new PushbackInputStream(raw, 4)) {
+            byte[] head = new byte[4];
+            int len = in.readNBytes(head, 0, head.length);
+            in.unread(head, 0, len);
+            return BinaryCodec.isBinary(head, len)
+                    ? BinaryCodec.read(in, tasks, next)
+                    : TextCodec.read(in, tasks, next);
+        }
+    }
+
+    /**
+     * Reads the whole snapshot file, reporting progress from {@code 0} to {@code 0.5}.
+     */
+    private byte[] readWithProgress(int size, DoubleConsumer progress) throws IOException {
+        byte[] buf = new byte[size];
+        int n = 0;
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(file), size, 0.5, progress)) {
+            int r;
+            while (n < size && (r = in.read(buf, n, size - n)) > 0) {
+                n += r;
+            }
+        }
+        return n == size ? buf : Arrays.copyOf(buf, n);
+    }
+
+    /**
+     * Reports the fraction of a stream that has been read, at most once per percent.
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+        /** Largest read between two reports, so that a single large read still shows progress. */
+        private static final int MAX_READ = 1 << 20;
+
+        private final long size;
+        private final double scale;
+        private final DoubleConsumer progress;
+        private long read;
+        private long nextReport;
+
+        /**
+         * @param in       stream to read
+         * @param size     expected length of the stream in bytes
+         * @param scale    fraction reported once {@code size} bytes have been read
+         * @param progress receives the fraction read so far
+         */
+        ProgressInputStream(InputStream in, long size, double scale, DoubleConsumer progress) {
+            super(in);
+            this.size = Math.max(size, 1);
+            this.scale = scale;
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, Math.min(len, MAX_READ));
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        private void advance(long n) {
+            read += n;
+            if (read >= nextReport) {
+                progress.accept(scale * Math.min(read, size) / size);
+                nextReport = read + size / 100;
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and atomically moves it over the data file.
+     */
+    private void writeSnapshot(List<Task> tasks, long gen) throws IOException {
+        Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        writeFile(tmp, tasks, gen);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes {@code tasks} to {@code target} in this storage's format.
+     *
+     * @param gen generation to record, or {@code -1} to omit the text header
+     */
+    private void writeFile(Path target, List<Task> tasks, long gen) throws IOException {
+        long start = System.nanoTime();
+        writeTasks(target, tasks, gen);
+        snapshotBytesWritten.addAndGet(Files.size(target));
+        saveTimes.record(System.nanoTime() - start);
+    }
+
+    private void writeTasks(Path target, List<Task> tasks, long gen) throws IOException {
+        int after = maxId(tasks) + 1;
+        int next = raiseNextId(after);
+        try (OutputStream os = Files.newOutputStream(target)) {
+            if (format == Format.BINARY) {
+                BinaryCodec.write(os, tasks, Math.max(gen, 0), next);
+                return;
+            }
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 1 << 16);
+            if (gen >= 0) {
+                out.write(Journal.GEN_HEADER + gen);
+                out.newLine();
+            }
+            if (next > after) {
+                out.write(TextCodec.NEXT_ID_HEADER + next);
+                out.newLine();
+            }
+            for (Task t : tasks) {
+                out.write(TextCodec.encode(t));
+                out.newLine();
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Raises the recorded next task id to at least {@code id}.
+     *
+     * @return the recorded next task id afterwards
+     */
+    private int raiseNextId(int id) {
+        return nextId.accumulateAndGet(id, Math::max);
+    }
+
+    /** Returns the largest id in {@code tasks}, or {@code 0} if none has one. */
+    private static int maxId(List<Task> tasks) {
+        int max = 0;
+        for (Task t : tasks) {
+            max = Math.max(max, t.id);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,188 @@
+package jack.model;
+
+/**
+ * Represents a generic task in the Jack task manager.
+ * <p>
+ * Subclasses provide specific task types.
+ */
+public class Task implements Cloneable {
+    /** Description text of the task. */
+    protected String description;
+
+    /** Whether this task is marked as done. */
+    protected boolean isDone;
+
+    /** Type of this task (e.g., TODO, DEADLINE, EVENT). */
+    protected TaskType type;
+
+    /**
+     * Stable identifier assigned by the owning {@link TaskList} and saved with the task;
+     * ids increase in list order. {@code -1} until assigned.
+     */
+    int id = -1;
+
+    /** Position in the owning {@link TaskList}'s slot array, which may contain tombstones. */
+    int slot = -1;
+
+    /** Lower-cased {@link #description}, computed on first use. */
+    private String lowerDescription;
+
+    /** Cached {@link #toString()}, or {@code null} until first rendered or after a change. */
+    private String rendered;
+
+    /** Unchanging copy of this task for {@link TaskList#snapshot}, or {@code null} after a change. */
+    private Task frozen;
+
+    /**
+     * Creates a new {@code Task} with the given description and type.
+     *
+     * @param description description of the task
+     * @param type type of the task
+     */
+    public Task(String description, TaskType type) {
+        this.description = description;
+        this.isDone = false;
+        this.type = type;
+    }
+
+    /**
+     * Checks if the task's description contains the given keyword.
+     *
+     * @param keyword the word to search for
+     * @return true if the description is not null and contains the keyword
+     *         (case-insensitive), false otherwise
+     */
+    public boolean matches(String keyword) {
+        return matchesLower(keyword.toLowerCase());
+    }
+
+    /**
+     * Checks if the task's description contains an already lower-cased keyword.
+     *
+     * @param lowerKeyword keyword in lower case
+     * @return true if the description is not null and contains the keyword
+     */
+    boolean matchesLower(String lowerKeyword) {
+        String lower = lowerDescription();
+        return lower != null && lower.contains(lowerKeyword);
+    }
+
+    /**
+     * Returns the description in lower case, caching it until the description changes.
+     *
+     * @return lower-cased description, or {@code null} if there is no description
+     */
+    String lowerDescription() {
+        if (lowerDescription == null && description != null) {
+            lowerDescription = description.toLowerCase();
+        }
+        return lowerDescription;
+    }
+
+    /**
+     * Replaces the description of this task.
+     * <p>
+     * Package-private so that changes go through {@link TaskList#setDescription}, which
+     * keeps its search index up to date.
+     *
+     * @param description new description
+     */
+    void setDescription(String description) {
+        this.description = description;
+        this.lowerDescription = null;
+        this.rendered = null;
+        this.frozen = null;
+    }
+
+    /**
+     * Returns the stable id of this task.
+     *
+     * @return id, or {@code -1} if the task has not been added to a list yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns whether this task is marked as done.
+     *
+     * @return {@code true} if the task is done
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the status icon of this task.
+     *
+     * @return {@code "X"} if the task is done; a space character otherwise
+     */
+    public String getStatusIcon() {
+        return (isDone ? "X" : " ");
+    }
+
+    /**
+     * Marks this task as done.
+     */
+    public void markAsDone() {
+        this.isDone = true;
+        this.rendered = null;
+        this.frozen = null;
+    }
+
+    /**
+     * Marks this task as not done.
+     */
+    public void markAsNotDone() {
+        this.isDone = false;
+        this.rendered = null;
+        this.frozen = null;
+    }
+
+    /**
+     * Returns {@link #toString()}, formatting it only on the first call after the task
+     * was created or last changed.
+     *
+     * @return formatted task string
+     */
+    public String render() {
+        if (rendered == null) {
+            rendered = toString();
+        }
+        return rendered;
+    }
+
+    /**
+     * Returns a copy of this task as it is now, reusing the previous copy if the task has
+     * not changed since. The copy is pre-rendered and is its own frozen copy.
+     *
+     * @return shallow copy sharing this task's immutable fields
+     */
+    Task frozen() {
+        if (frozen == null) {
+            render();
+            lowerDescription();
+            try {
+                Task copy = (Task) super.clone();
+                copy.slot = -1;
+                copy.frozen = copy;
+                frozen = copy;
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        return frozen;
+    }
+
+    /**
+     * Returns the string representation of this task for display to the user.
+     * <p>
+     * The format includes the task type symbol, status icon, and description.
+     *
+     * @return formatted task string
+     */
+    @Override
+    public String toString() {
+        return "[" + type.getSymbol() + "][" + getStatusIcon() + "] " + description;
+    }
+}
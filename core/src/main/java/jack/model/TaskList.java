@@ -0,0 +1,660 @@
+package jack.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents a mutable list of tasks.
+ * <p>
+ * Provides methods to add, remove, and access tasks,
+ * and exposes the underlying list for persistence.
+ * <p>
+ * Every task has a stable {@link Task#id id}, assigned in increasing order when it is
+ * added and saved with it, so {@code #id} keeps naming the same task while display
+ * indices shift. Removing a task leaves a tombstone ({@code null}) in its slot instead
+ * of shifting the tail; a {@link Fenwick} tree over the live slots maps display indices
+ * to slots in {@code O(log n)}. Tombstones are compacted away once they outnumber the
+ * live tasks, or when the backing list is handed out by {@link #raw}.
+ * <p>
+ * Keyword searches are served from a {@link TrigramIndex} that is built on the first
+ * {@link #findTasks} call and then kept up to date by every mutation. Filtered
+ * {@link #query queries} additionally use per-type and per-status bitsets and a
+ * {@link DateIndex} over deadlines, built on the first query in the same way; a second
+ * date index over open deadlines serves {@link #dueBetween} in {@code O(log n + k)}.
+ * Events with a resolved interval are kept in an {@link IntervalTree} for
+ * {@link #overlapping} and {@link #agenda} queries.
+ * <p>
+ * The list may be shared between threads. Every method that reads or changes the live
+ * list holds the list's monitor, so writers are serialized. Readers that only need a
+ * consistent picture of all tasks (listing, saving) should use {@link #snapshot}, which
+ * returns an immutable copy that is rebuilt at most once per change and is otherwise
+ * read without locking. Indexed reads ({@link #query}, {@link #dueBetween},
+ * {@link #agenda}, ...) use indexes that belong to the live list, so they hold the
+ * monitor and wait for writers, and writers wait for them.
+ */
+public class TaskList {
+    /** Internal list of tasks by slot; {@code null} marks a removed task. */
+    private final ArrayList<Task> tasks;
+
+    /** Number of {@code null} slots in {@link #tasks}. */
+    private int tombstones;
+
+    /** Live slot counts, or {@code null} while there are no tombstones. */
+    private Fenwick liveSlots;
+
+    /** Tasks by their {@link Task#id}. */
+    private final Map<Integer, Task> byId = new HashMap<>();
+
+    /** Id given to the next added task. */
+    private int nextId = 1;
+
+    /** Keyword index, or {@code null} until the first search. */
+    private TrigramIndex index;
+
+    /** Ids of live tasks, or {@code null} until the first filtered query. */
+    private BitSet live;
+
+    /** Ids of live tasks by {@link TaskType} ordinal. */
+    private BitSet[] byType;
+
+    /** Ids of live tasks that are done. */
+    private BitSet done;
+
+    /** Ids of deadlines by due date. */
+    private DateIndex deadlines;
+
+    /** Ids of deadlines that are not done, by due date. */
+    private DateIndex openDeadlines;
+
+    /** Intervals of events with resolved times. */
+    private IntervalTree events;
+
+    /** Immutable copy of the live tasks, or {@code null} after a change until the next {@link #snapshot}. */
+    private volatile List<Task> snapshot;
+
+    /** Frozen tasks of the last snapshot, in list order, or {@code null} before the first. */
+    private Task[] frozenTasks;
+
+    /** Tasks changed in place since the last snapshot, whose copies need replacing. */
+    private final List<Task> changedSinceSnapshot = new ArrayList<>();
+
+    /** Whether a task was removed since the last snapshot, so it has to be rebuilt in full. */
+    private boolean isReshaped;
+
+    /**
+     * Creates an empty {@code TaskList}.
+     */
+    public TaskList() {
+        this.tasks = new ArrayList<>();
+    }
+
+    /**
+     * Creates a {@code TaskList} from an existing list of tasks.
+     * <p>
+     * If {@code fromStorage} is {@code null}, an empty list is used instead.
+     *
+     * @param fromStorage tasks loaded from storage, or {@code null}
+     */
+    public TaskList(ArrayList<Task> fromStorage) {
+        this.tasks = (fromStorage == null) ? new ArrayList<>() : fromStorage;
+        assert this.tasks != null : "TaskList: tasks list must be initialized";
+        assignMissingIds(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            t.slot = i;
+            byId.put(t.id, t);
+        }
+        nextId = tasks.isEmpty() ? 1 : tasks.get(tasks.size() - 1).id + 1;
+    }
+
+    /**
+     * Creates a {@code TaskList} from an existing list of tasks, continuing the ids at
+     * {@code nextId} (or after the last task, if that is higher), so that the ids of tasks
+     * deleted in an earlier session are not given out again.
+     *
+     * @param fromStorage tasks loaded from storage, or {@code null}
+     * @param nextId      id saved for the next added task, or {@code 0} if none was saved
+     */
+    public TaskList(ArrayList<Task> fromStorage, int nextId) {
+        this(fromStorage);
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
+    /**
+     * Returns the id that the next added task gets.
+     *
+     * @return next task id
+     */
+    synchronized int nextId() {
+        return nextId;
+    }
+
+    /**
+     * Gives every task without a saved id the id after its predecessor's, so that tasks
+     * saved before ids existed get {@code 1, 2, 3, ...} in list order. If the result is
+     * not strictly increasing (a hand-edited file), all ids are renumbered.
+     *
+     * @param tasks tasks in list order; updated in place
+     */
+    static void assignMissingIds(List<Task> tasks) {
+        int prev = 0;
+        boolean isAscending = true;
+        for (Task t : tasks) {
+            if (t.id < 0) {
+                t.id = prev + 1;
+            }
+            isAscending &= t.id > prev;
+            prev = t.id;
+        }
+        if (!isAscending) {
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).id = i + 1;
+            }
+        }
+    }
+
+    /** Returns the slot of the task at display index {@code idx}. */
+    private int slotOf(int idx) {
+        Objects.checkIndex(idx, size());
+        return tombstones == 0 ? idx : liveSlots.select(idx);
+    }
+
+    /**
+     * Returns the display index of the task with the given id.
+     *
+     * @param id task id
+     * @return zero-based index, or {@code -1} if no task has that id
+     */
+    public synchronized int indexOfId(int id) {
+        Task t = byId.get(id);
+        if (t == null) {
+            return -1;
+        }
+        return tombstones == 0 ? t.slot : liveSlots.prefix(t.slot) - 1;
+    }
+
+    /** Drops the tombstones, moving the live tasks to consecutive slots. */
+    private void compact() {
+        if (tombstones == 0) {
+            return;
+        }
+        int write = 0;
+        for (int read = 0; read < tasks.size(); read++) {
+            Task t = tasks.get(read);
+            if (t != null) {
+                t.slot = write;
+                tasks.set(write++, t);
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+        tombstones = 0;
+        liveSlots = null;
+    }
+
+    /** Turns the task in {@code slot} into a tombstone, after its indexes were updated. */
+    private void bury(int slot) {
+        if (liveSlots == null) {
+            liveSlots = new Fenwick(tasks.size());
+        }
+        liveSlots.add(slot, -1);
+        if (slot == tasks.size() - 1) {
+            tasks.remove(slot);
+            trimTrailingTombstones();
+        } else {
+            tasks.set(slot, null);
+            tombstones++;
+        }
+        if (tombstones == 0) {
+            liveSlots = null;
+        }
+    }
+
+    private void trimTrailingTombstones() {
+        while (!tasks.isEmpty() && tasks.get(tasks.size() - 1) == null) {
+            tasks.remove(tasks.size() - 1);
+            tombstones--;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (tombstones > tasks.size() - tombstones) {
+            compact();
+        }
+    }
+
+    /**
+     * Finds tasks in the list that match the given keyword.
+     * Returns a formatted string of the matching tasks, or a message if none are found.
+     *
+     * @param keyword the search keyword
+     * @return a string containing matching tasks or a message if no matches
+     */
+    public String findTasks(String keyword) {
+        assert keyword != null : "findTasks: keyword must not be null";
+        return query(new TaskQuery(keyword, null, null, null, null, keyword));
+    }
+
+    /**
+     * Finds tasks that satisfy every criterion of {@code q}.
+     * <p>
+     * The most selective available index (type, status, due date or keyword) produces
+     * the candidates; the other criteria are then checked on those candidates only.
+     * Results are listed in list order, in the same format as {@link #findTasks}.
+     *
+     * @param q query to evaluate
+     * @return a string containing matching tasks or a message if no matches
+     */
+    public synchronized String query(TaskQuery q) {
+        int best = tasks.size();
+        BitSet bits = null;
+        int[] ids = null;
+        if (q.type != null || q.done != null || q.hasDateRange()) {
+            buildFieldIndexes();
+        }
+        if (q.type != null && byType[q.type.ordinal()].cardinality() < best) {
+            bits = byType[q.type.ordinal()];
+            best = bits.cardinality();
+        }
+        if (q.done != null) {
+            BitSet status = q.done ? done : notDone();
+            if (status.cardinality() < best) {
+                bits = status;
+                best = bits.cardinality();
+            }
+        }
+        if (q.hasDateRange() && deadlines.count(q.fromDay(), q.toDay()) < best) {
+            ids = deadlines.ids(q.fromDay(), q.toDay());
+            bits = null;
+            best = ids.length;
+        }
+        if (q.keyword != null) {
+            int[] candidates = trigrams().candidates(q.keyword);
+            if (candidates != null && candidates.length < best) {
+                ids = candidates;
+                bits = null;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder("Here are the matching tasks in your list:\n");
+        int shown = 0;
+        if (ids != null) {
+            for (int id : ids) {
+                shown = appendIfMatch(sb, shown, q, byId.get(id));
+            }
+        } else if (bits != null) {
+            for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+                shown = appendIfMatch(sb, shown, q, byId.get(id));
+            }
+        } else {
+            for (Task t : tasks) {
+                if (t != null) {
+                    shown = appendIfMatch(sb, shown, q, t);
+                }
+            }
+        }
+        if (shown == 0) {
+            return "No matching tasks found for: \"" + q.text + "\"";
+        }
+        return sb.toString().trim();
+    }
+
+    private static int appendIfMatch(StringBuilder sb, int shown, TaskQuery q, Task t) {
+        if (!q.matches(t)) {
+            return shown;
+        }
+        sb.append(shown + 1).append('.').append(t.render()).append(System.lineSeparator());
+        return shown + 1;
+    }
+
+    private BitSet notDone() {
+        BitSet open = (BitSet) live.clone();
+        open.andNot(done);
+        return open;
+    }
+
+    private TrigramIndex trigrams() {
+        if (index == null) {
+            index = new TrigramIndex();
+            for (Task t : tasks) {
+                if (t != null) {
+                    indexTask(t);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void buildFieldIndexes() {
+        if (live != null) {
+            return;
+        }
+        live = new BitSet();
+        done = new BitSet();
+        byType = new BitSet[TaskType.values().length];
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new BitSet();
+        }
+        deadlines = new DateIndex();
+        openDeadlines = new DateIndex();
+        events = new IntervalTree();
+        for (Task t : tasks) {
+            if (t != null) {
+                indexFields(t);
+            }
+        }
+    }
+
+    private void indexTask(Task t) {
+        if (index != null && t.lowerDescription() != null) {
+            index.add(t.id, t.lowerDescription());
+        }
+        if (live != null) {
+            indexFields(t);
+        }
+    }
+
+    private void indexFields(Task t) {
+        live.set(t.id);
+        byType[t.type.ordinal()].set(t.id);
+        done.set(t.id, t.isDone);
+        if (t instanceof Deadline) {
+            long day = ((Deadline) t).by.toEpochDay();
+            deadlines.add(t.id, day);
+            if (!t.isDone) {
+                openDeadlines.add(t.id, day);
+            }
+        } else if (t instanceof Event && ((Event) t).hasInterval()) {
+            Event e = (Event) t;
+            events.add(e.id, Event.minutes(e.start), Event.minutes(e.end));
+        }
+    }
+
+    private void unindexTask(Task t) {
+        if (index != null && t.lowerDescription() != null) {
+            index.remove(t.id, t.lowerDescription());
+        }
+        if (live != null) {
+            live.clear(t.id);
+            byType[t.type.ordinal()].clear(t.id);
+            done.clear(t.id);
+            if (t instanceof Deadline) {
+                long day = ((Deadline) t).by.toEpochDay();
+                deadlines.remove(t.id, day);
+                openDeadlines.remove(t.id, day);
+            } else if (t instanceof Event && ((Event) t).hasInterval()) {
+                events.remove(t.id, Event.minutes(((Event) t).start));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return task count
+     */
+    public synchronized int size() {
+        return tasks.size() - tombstones;
+    }
+
+    /**
+     * Retrieves the task at the specified index.
+     *
+     * @param idx zero-based index of the task
+     * @return task at the given index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public synchronized Task get(int idx) {
+        return tasks.get(slotOf(idx));
+    }
+
+    /**
+     * Adds a task to the list.
+     *
+     * @param t task to add
+     */
+    public synchronized void add(Task t) {
+        t.id = nextId++;
+        t.slot = tasks.size();
+        tasks.add(t);
+        byId.put(t.id, t);
+        if (liveSlots != null) {
+            liveSlots.add(t.slot, 1);
+        }
+        indexTask(t);
+        snapshot = null; // appended, so the previous copies stay in place
+    }
+
+    /**
+     * Removes the task at the specified index.
+     *
+     * @param idx zero-based index of the task to remove
+     * @return the removed task
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public synchronized Task remove(int idx) {
+        Task t = tasks.get(slotOf(idx));
+        byId.remove(t.id);
+        unindexTask(t);
+        bury(t.slot);
+        compactIfSparse();
+        reshaped();
+        return t;
+    }
+
+    /**
+     * Removes the tasks at the given indices, leaving tombstones that are compacted in a
+     * single pass once they outnumber the live tasks.
+     *
+     * @param sortedIdx zero-based indices of the tasks to remove, ascending and distinct
+     * @return the removed tasks, in list order
+     * @throws IndexOutOfBoundsException if an index is invalid
+     */
+    public synchronized List<Task> removeAll(int[] sortedIdx) {
+        List<Task> removed = new ArrayList<>(sortedIdx.length);
+        for (int idx : sortedIdx) {
+            removed.add(tasks.get(slotOf(idx)));
+        }
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            Task t = removed.get(i);
+            assert i == 0 || removed.get(i - 1).slot < t.slot : "removeAll: indices must be ascending and distinct";
+            byId.remove(t.id);
+            unindexTask(t);
+            bury(t.slot);
+        }
+        compactIfSparse();
+        reshaped();
+        return removed;
+    }
+
+    /**
+     * Marks the task at the specified index as done or not done.
+     *
+     * @param idx    zero-based index of the task
+     * @param isDone new done status
+     * @return the updated task
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public synchronized Task mark(int idx, boolean isDone) {
+        Task t = get(idx);
+        if (isDone) {
+            t.markAsDone();
+        } else {
+            t.markAsNotDone();
+        }
+        if (live != null) {
+            done.set(t.id, isDone);
+            if (t instanceof Deadline) {
+                long day = ((Deadline) t).by.toEpochDay();
+                if (isDone) {
+                    openDeadlines.remove(t.id, day);
+                } else {
+                    openDeadlines.add(t.id, day);
+                }
+            }
+        }
+        changed(t);
+        return t;
+    }
+
+    /**
+     * Returns the deadlines that are not done and are due within {@code [from, to]}.
+     *
+     * @param from first due date, inclusive, or {@code null} for no lower bound
+     * @param to   last due date, inclusive, or {@code null} for no upper bound
+     * @return matching deadlines, earliest due date first, ties in list order
+     */
+    public synchronized List<Task> dueBetween(LocalDate from, LocalDate to) {
+        buildFieldIndexes();
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        List<Task> out = new ArrayList<>();
+        for (int id : openDeadlines.idsByDay(fromDay, toDay)) {
+            out.add(byId.get(id));
+        }
+        return out;
+    }
+
+    /**
+     * Returns the events whose resolved interval overlaps {@code [from, to)}.
+     * <p>
+     * An event that starts and ends at the same moment overlaps any range containing
+     * that moment. Events whose times could not be resolved are never returned.
+     *
+     * @param from start of the range, inclusive
+     * @param to   end of the range, exclusive
+     * @return overlapping events, earliest start first
+     */
+    public synchronized List<Event> overlapping(LocalDateTime from, LocalDateTime to) {
+        buildFieldIndexes();
+        long lo = Event.minutes(from);
+        long hi = Math.max(Event.minutes(to), lo + 1);
+        List<Event> out = new ArrayList<>();
+        events.overlapping(lo, hi, id -> out.add((Event) byId.get(id)));
+        return out;
+    }
+
+    /**
+     * Returns everything on the calendar for one day: the events overlapping it,
+     * earliest start first, followed by the deadlines due on it.
+     *
+     * @param day day to list
+     * @return events and deadlines of that day
+     */
+    public synchronized List<Task> agenda(LocalDate day) {
+        List<Task> out = new ArrayList<>(overlapping(day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        for (int id : deadlines.ids(day.toEpochDay(), day.toEpochDay())) {
+            out.add(byId.get(id));
+        }
+        return out;
+    }
+
+    /**
+     * Replaces the description of the task at the specified index.
+     *
+     * @param idx         zero-based index of the task
+     * @param description new description
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public synchronized void setDescription(int idx, String description) {
+        Task t = get(idx);
+        unindexTask(t);
+        t.setDescription(description);
+        indexTask(t);
+        changed(t);
+    }
+
+    /**
+     * Returns an immutable copy of the tasks, in list order.
+     * <p>
+     * The copy never changes, so it can be read (rendered, searched, saved) on any thread
+     * while other threads keep changing the list. Each task is copied once per change to
+     * it; the list of copies is built on the first call after any change and shared
+     * until the next one. The tasks in it must not be modified.
+     *
+     * @return unmodifiable list of frozen tasks
+     */
+    public List<Task> snapshot() {
+        List<Task> s = snapshot;
+        if (s != null) {
+            return s;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = Collections.unmodifiableList(Arrays.asList(freezeAll()));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Builds the frozen tasks of a new snapshot. Unless a task was removed, the previous
+     * copies are reused and only the tasks changed or appended since are copied again.
+     */
+    private Task[] freezeAll() {
+        Task[] copy;
+        if (frozenTasks == null || isReshaped) {
+            copy = new Task[size()];
+            int i = 0;
+            for (Task t : tasks) {
+                if (t != null) {
+                    copy[i++] = t.frozen();
+                }
+            }
+        } else {
+            copy = Arrays.copyOf(frozenTasks, size());
+            for (Task t : changedSinceSnapshot) {
+                if (byId.get(t.id) == t) {
+                    copy[indexOfId(t.id)] = t.frozen();
+                }
+            }
+            for (int i = frozenTasks.length; i < copy.length; i++) {
+                copy[i] = tasks.get(slotOf(i)).frozen();
+            }
+        }
+        frozenTasks = copy;
+        changedSinceSnapshot.clear();
+        isReshaped = false;
+        return copy;
+    }
+
+    /** Records that {@code t} changed in place. */
+    private void changed(Task t) {
+        snapshot = null;
+        if (!isReshaped && frozenTasks != null) {
+            if (changedSinceSnapshot.size() < frozenTasks.length / 8) {
+                changedSinceSnapshot.add(t);
+            } else {
+                reshaped(); // cheaper to copy everything again
+            }
+        }
+    }
+
+    /** Records that tasks were removed, so the next snapshot is rebuilt in full. */
+    private void reshaped() {
+        snapshot = null;
+        isReshaped = true;
+        changedSinceSnapshot.clear();
+    }
+
+    /**
+     * Returns the underlying mutable list of tasks.
+     * <p>
+     * Used when loading and by single-threaded callers. The returned list is not
+     * guarded once this method returns; use {@link #snapshot} when other threads may be
+     * changing the list.
+     *
+     * @return backing {@code ArrayList} of tasks
+     */
+    public synchronized ArrayList<Task> raw() {
+        compact();
+        return tasks;
+    }
+}
@@ -0,0 +1,82 @@
+package jack.model;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria for {@link TaskList#query}.
+ * <p>
+ * Every criterion is optional ({@code null}); a task matches when it satisfies all
+ * criteria that are set. Date bounds are exclusive and only deadlines have a date.
+ */
+public class TaskQuery {
+    /** Text of the query as typed, used in the "no match" message. */
+    final String text;
+    final TaskType type;
+    final Boolean done;
+    final LocalDate before;
+    final LocalDate after;
+    final String keyword;
+
+    /**
+     * Creates a query.
+     *
+     * @param text    query as typed by the user
+     * @param type    required task type, or {@code null}
+     * @param done    required done status, or {@code null}
+     * @param before  deadlines strictly before this date, or {@code null}
+     * @param after   deadlines strictly after this date, or {@code null}
+     * @param keyword case-insensitive description keyword, or {@code null}
+     */
+    public TaskQuery(String text, TaskType type, Boolean done, LocalDate before, LocalDate after, String keyword) {
+        this.text = text;
+        this.type = type;
+        this.done = done;
+        this.before = before;
+        this.after = after;
+        this.keyword = keyword == null || keyword.isEmpty() ? null : keyword.toLowerCase();
+    }
+
+    /**
+     * Returns whether any date bound is set.
+     *
+     * @return {@code true} if {@code before} or {@code after} is set
+     */
+    boolean hasDateRange() {
+        return before != null || after != null;
+    }
+
+    /** First epoch day inside the date range. */
+    long fromDay() {
+        return after == null ? Long.MIN_VALUE : after.toEpochDay() + 1;
+    }
+
+    /** Last epoch day inside the date range. */
+    long toDay() {
+        return before == null ? Long.MAX_VALUE : before.toEpochDay() - 1;
+    }
+
+    /**
+     * Checks a single task against every criterion.
+     *
+     * @param t task to check
+     * @return {@code true} if the task matches
+     */
+    boolean matches(Task t) {
+        if (type != null && t.type != type) {
+            return false;
+        }
+        if (done != null && t.isDone != done) {
+            return false;
+        }
+        if (hasDateRange()) {
+            if (!(t instanceof Deadline)) {
+                return false;
+            }
+            long day = ((Deadline) t).by.toEpochDay();
+            if (day < fromDay() || day > toDay()) {
+                return false;
+            }
+        }
+        return keyword == null || t.matchesLower(keyword);
+    }
+}
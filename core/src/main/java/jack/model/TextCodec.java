@@ -0,0 +1,412 @@
+package jack.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Encodes and decodes tasks in the pipe-delimited text format of {@code jack.txt}.
+ * <p>
+ * Formats we write:
+ * <pre>
+ * T | 1 | read book
+ * D | 0 | return book | 2025-06-06
+ * E | 1 | project meeting | Mon 2pm | 4pm
+ * E | 0 | standup | Tue 9am | 9:15am | 2025-06-10T09:00 | 2025-06-10T09:15 | #7
+ * </pre>
+ * The two date-time fields of an event are the resolved interval and are only written
+ * when the endpoints could be resolved. The trailing {@code #N} field is the task's
+ * {@link Task#id id}; lines without it get an id from {@link TaskList}. Older versions
+ * ignore both. A {@code # next N} line records the id the next new task gets, when that
+ * is not simply one more than the largest id in the file (the task with the highest id
+ * was deleted), so that ids are never handed out twice.
+ * Decoding works directly on UTF-8 bytes: {@code '|'}, whitespace and line breaks are
+ * ASCII and never occur inside a multi-byte sequence, so fields can be located without
+ * decoding the line, without a regex and without an intermediate {@code String[]}.
+ */
+final class TextCodec {
+    /** Most fields any task line uses. */
+    private static final int MAX_FIELDS = 8;
+
+    /** Rough size in bytes of one encoded task, used to pre-size lists. */
+    static final int BYTES_PER_TASK_ESTIMATE = 24;
+
+    /** Prefix of the header line carrying the next task id. */
+    static final String NEXT_ID_HEADER = "# next ";
+
+    private static final byte[] GEN_HEADER = Journal.GEN_HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEXT_ID_BYTES = NEXT_ID_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    private TextCodec() {}
+
+    /**
+     * Serializes a task into its encoded string form for persistence.
+     *
+     * @param t task to serialize
+     * @return pipe-delimited string representing the task
+     */
+    static String encode(Task t) {
+        String line = encodeFields(t);
+        return t.id < 0 ? line : line + " | #" + t.id;
+    }
+
+    private static String encodeFields(Task t) {
+        String done = t.isDone ? "1" : "0";
+        if (t instanceof Todo) {
+            return String.join(" | ", "T", done, t.description);
+        } else if (t instanceof Deadline) {
+            Deadline d = (Deadline) t;
+            // write ISO format so we can parse reliably on load
+            return String.join(" | ", "D", done, d.description, d.by.toString());
+        } else if (t instanceof Event) {
+            Event e = (Event) t;
+            if (e.hasInterval()) {
+                return String.join(" | ", "E", done, e.description, e.from, e.to,
+                        e.start.toString(), e.end.toString());
+            }
+            return String.join(" | ", "E", done, e.description, e.from, e.to);
+        }
+        return String.join(" | ", "T", done, t.description); // fallback
+    }
+
+    /**
+     * Parses one encoded task.
+     *
+     * @param line line to parse
+     * @return the decoded task, or {@code null} if the line is blank or cannot be parsed
+     */
+    static Task decode(String line) {
+        byte[] b = line.getBytes(StandardCharsets.UTF_8);
+        return decode(b, 0, b.length, new int[MAX_FIELDS * 2]);
+    }
+
+    /**
+     * Reads every task from a stream of encoded lines.
+     * <p>
+     * Blank lines, comments and lines that cannot be parsed are skipped.
+     *
+     * @param in     stream to read; not closed by this method
+     * @param out    list receiving the decoded tasks, in order
+     * @param nextId receives the id from a {@code # next N} header in its first element,
+     *               which is left alone if there is none
+     * @return generation from a {@code # gen N} header, or {@code 0} if there is none
+     * @throws IOException if the stream cannot be read
+     */
+    static long read(InputStream in, List<Task> out, int[] nextId) throws IOException {
+        byte[] buf = new byte[1 << 16];
+        int[] bounds = new int[MAX_FIELDS * 2];
+        long gen = 0;
+        int len = 0;
+        boolean isEof = false;
+        while (!isEof) {
+            int n = in.read(buf, len, buf.length - len);
+            if (n < 0) {
+                isEof = true;
+            } else {
+                len += n;
+            }
+            int start = 0;
+            for (int i = 0; i < len; i++) {
+                byte b = buf[i];
+                if (b == '\n' || b == '\r') {
+                    gen = decodeLine(buf, start, i, bounds, out, gen, nextId);
+                    start = i + 1;
+                }
+            }
+            if (isEof) {
+                gen = decodeLine(buf, start, len, bounds, out, gen, nextId);
+                break;
+            }
+            // Keep the unfinished last line for the next read.
+            len -= start;
+            System.arraycopy(buf, start, buf, 0, len);
+            if (len == buf.length) {
+                byte[] bigger = new byte[buf.length * 2];
+                System.arraycopy(buf, 0, bigger, 0, len);
+                buf = bigger;
+            }
+        }
+        return gen;
+    }
+
+    /**
+     * Decodes every line in {@code buf[from, to)} and appends the tasks to {@code out}.
+     *
+     * @param buf    UTF-8 encoded lines
+     * @param from   first byte of the range; must be the start of a line
+     * @param to     end of the range (exclusive); must be the end of a line
+     * @param out    list receiving the decoded tasks, in order
+     * @param nextId receives the id from a {@code # next N} header in the range
+     * @return generation from a {@code # gen N} header in the range, or {@code 0}
+     */
+    static long decodeAll(byte[] buf, int from, int to, List<Task> out, int[] nextId) {
+        int[] bounds = new int[MAX_FIELDS * 2];
+        long gen = 0;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            byte b = buf[i];
+            if (b == '\n' || b == '\r') {
+                gen = decodeLine(buf, start, i, bounds, out, gen, nextId);
+                start = i + 1;
+            }
+        }
+        return decodeLine(buf, start, to, bounds, out, gen, nextId);
+    }
+
+    /**
+     * Decodes every line of {@code buf} in parallel and appends the tasks to {@code out}.
+     * <p>
+     * The buffer is cut into about {@code 4 * parallelism} byte ranges, each ending on a
+     * line break, which are decoded as separate fork-join tasks. The per-range results
+     * are concatenated in range order, so {@code out} ends up exactly as with a
+     * sequential decode.
+     *
+     * @param buf    UTF-8 encoded lines
+     * @param out    list receiving the decoded tasks, in order
+     * @param pool   pool that runs the decoding tasks
+     * @param nextId receives the id from a {@code # next N} header
+     * @return generation from a {@code # gen N} header, or {@code 0} if there is none
+     */
+    static long decodeParallel(byte[] buf, List<Task> out, ForkJoinPool pool, int[] nextId) {
+        int chunks = Math.max(1, pool.getParallelism() * 4);
+        int step = Math.max(1, (int) (((long) buf.length + chunks - 1) / chunks));
+        List<ForkJoinTask<List<Task>>> parts = new ArrayList<>(chunks);
+        long[] gens = new long[chunks];
+        int[][] nextIds = new int[chunks][1];
+        int start = 0;
+        while (start < buf.length) {
+            int end = Math.min(buf.length, start + step);
+            while (end < buf.length && buf[end - 1] != '\n') {
+                end++;
+            }
+            final int from = start;
+            final int to = end;
+            final int idx = parts.size();
+            parts.add(pool.submit(() -> {
+                List<Task> part = new ArrayList<>((to - from) / BYTES_PER_TASK_ESTIMATE + 1);
+                gens[idx] = decodeAll(buf, from, to, part, nextIds[idx]);
+                return part;
+            }));
+            start = end;
+        }
+        long gen = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            out.addAll(parts.get(i).join());
+            gen = Math.max(gen, gens[i]);
+            nextId[0] = Math.max(nextId[0], nextIds[i][0]);
+        }
+        return gen;
+    }
+
+    private static long decodeLine(byte[] buf, int from, int to, int[] bounds, List<Task> out, long gen,
+            int[] nextId) {
+        if (to - from > GEN_HEADER.length && startsWith(buf, from, GEN_HEADER)) {
+            return parseLong(buf, from + GEN_HEADER.length, to, gen);
+        }
+        if (to - from > NEXT_ID_BYTES.length && startsWith(buf, from, NEXT_ID_BYTES)) {
+            long id = parseLong(buf, from + NEXT_ID_BYTES.length, to, 0);
+            nextId[0] = (int) Math.min(Math.max(nextId[0], id), Integer.MAX_VALUE);
+            return gen;
+        }
+        Task t = decode(buf, from, to, bounds);
+        if (t != null) {
+            out.add(t);
+        }
+        return gen;
+    }
+
+    /**
+     * Parses the task encoded in {@code buf[from, to)}.
+     * <p>
+     * Matches the historical {@code split("\\s*\\|\\s*")} behaviour: fields are trimmed,
+     * trailing empty fields do not count, and extra fields are ignored.
+     *
+     * @param bounds scratch array receiving the start/end offsets of each field
+     */
+    private static Task decode(byte[] buf, int from, int to, int[] bounds) {
+        int fields = split(buf, from, to, bounds);
+        if (fields < 3 || bounds[1] - bounds[0] != 1) {
+            return null;
+        }
+        int id = fields > 3 ? parseId(buf, bounds[(fields - 1) * 2], bounds[(fields - 1) * 2 + 1]) : -1;
+        if (id >= 0) {
+            fields--;
+        }
+        boolean done = bounds[3] - bounds[2] == 1 && buf[bounds[2]] == '1';
+        String desc = string(buf, bounds, 2);
+        Task t;
+        switch (buf[bounds[0]]) {
+        case 'T':
+            t = new Todo(desc);
+            break;
+        case 'D':
+            if (fields < 4) {
+                return null;
+            }
+            LocalDate by = parseDate(buf, bounds[6], bounds[7]);
+            if (by == null) {
+                return null;
+            }
+            t = new Deadline(desc, by);
+            break;
+        case 'E':
+            if (fields < 5) {
+                return null;
+            }
+            t = decodeEvent(buf, bounds, fields, desc);
+            break;
+        default:
+            return null;
+        }
+        if (done) {
+            t.markAsDone();
+        }
+        t.id = id;
+        return t;
+    }
+
+    /**
+     * Parses a {@code #N} id field.
+     *
+     * @return the id, or {@code -1} if the field is not an id
+     */
+    private static int parseId(byte[] buf, int from, int to) {
+        if (to - from < 2 || to - from > 11 || buf[from] != '#') {
+            return -1;
+        }
+        long v = 0;
+        for (int i = from + 1; i < to; i++) {
+            int c = buf[i] - '0';
+            if (c < 0 || c > 9) {
+                return -1;
+            }
+            v = v * 10 + c;
+        }
+        return v > Integer.MAX_VALUE ? -1 : (int) v;
+    }
+
+    private static Event decodeEvent(byte[] buf, int[] bounds, int fields, String desc) {
+        String from = string(buf, bounds, 3);
+        String to = string(buf, bounds, 4);
+        if (fields >= 7) {
+            try {
+                LocalDateTime start = LocalDateTime.parse(string(buf, bounds, 5));
+                LocalDateTime end = LocalDateTime.parse(string(buf, bounds, 6));
+                if (!end.isBefore(start)) {
+                    return new Event(desc, from, to, start, end);
+                }
+            } catch (DateTimeParseException ignored) {
+                // Keep the event with its typed endpoints only.
+            }
+        }
+        return new Event(desc, from, to);
+    }
+
+    /**
+     * Locates the first {@link #MAX_FIELDS} trimmed, {@code '|'}-separated fields.
+     *
+     * @return number of located fields, not counting trailing empty ones
+     */
+    private static int split(byte[] buf, int from, int to, int[] bounds) {
+        int count = 0;
+        int nonEmpty = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buf[i] == '|') {
+                int s = start;
+                int e = i;
+                while (s < e && isSpace(buf[s])) {
+                    s++;
+                }
+                while (e > s && isSpace(buf[e - 1])) {
+                    e--;
+                }
+                if (count < MAX_FIELDS) {
+                    bounds[count * 2] = s;
+                    bounds[count * 2 + 1] = e;
+                }
+                count++;
+                if (e > s) {
+                    nonEmpty = count;
+                }
+                start = i + 1;
+            }
+        }
+        return Math.min(nonEmpty, MAX_FIELDS);
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f' || b == 0x0B || b == '\r' || b == '\n';
+    }
+
+    private static String string(byte[] buf, int[] bounds, int field) {
+        int s = bounds[field * 2];
+        return new String(buf, s, bounds[field * 2 + 1] - s, StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] buf, int from, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (buf[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseLong(byte[] buf, int from, int to, long fallback) {
+        long v = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                v = v * 10 + (b - '0');
+                digits++;
+            } else if (!isSpace(b)) {
+                return fallback;
+            }
+        }
+        return digits == 0 ? fallback : v;
+    }
+
+    /**
+     * Parses an ISO {@code yyyy-MM-dd} date without going through {@code DateTimeFormatter}.
+     * <p>
+     * Anything that is not exactly ten characters falls back to {@link LocalDate#parse}.
+     *
+     * @return the date, or {@code null} if it is invalid
+     */
+    private static LocalDate parseDate(byte[] buf, int from, int to) {
+        try {
+            if (to - from == 10 && buf[from + 4] == '-' && buf[from + 7] == '-') {
+                int y = digits(buf, from, from + 4);
+                int m = digits(buf, from + 5, from + 7);
+                int d = digits(buf, from + 8, from + 10);
+                if (y >= 0 && m >= 0 && d >= 0) {
+                    return LocalDate.of(y, m, d);
+                }
+            }
+            return LocalDate.parse(new String(buf, from, to - from, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(byte[] buf, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            int c = buf[i] - '0';
+            if (c < 0 || c > 9) {
+                return -1;
+            }
+            v = v * 10 + c;
+        }
+        return v;
+    }
+}
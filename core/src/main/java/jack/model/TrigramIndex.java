@@ -0,0 +1,89 @@
+package jack.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from character trigrams of lower-cased descriptions to task ids.
+ * <p>
+ * A description can only contain a keyword if it contains every trigram of that keyword,
+ * so intersecting the posting lists of the keyword's trigrams gives a (usually small)
+ * superset of the matches. Posting lists are kept sorted by id, and ids follow list
+ * order, so candidates come out in the order {@link TaskList} shows them.
+ */
+final class TrigramIndex {
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes a description under the given task id.
+     *
+     * @param id    task id
+     * @param lower lower-cased description
+     */
+    void add(int id, String lower) {
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            postings.computeIfAbsent(key(lower, i), k -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Removes a description previously indexed under the given task id.
+     *
+     * @param id    task id
+     * @param lower the same lower-cased description that was indexed
+     */
+    void remove(int id, String lower) {
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            Long k = key(lower, i);
+            Postings p = postings.get(k);
+            if (p != null) {
+                p.remove(id);
+                if (p.size() == 0) {
+                    postings.remove(k);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of tasks whose description may contain {@code lowerKeyword}.
+     *
+     * @param lowerKeyword lower-cased keyword
+     * @return candidate ids in ascending order, or {@code null} if the keyword is too short
+     *         to narrow the search and every task has to be checked
+     */
+    int[] candidates(String lowerKeyword) {
+        int n = lowerKeyword.length() - 2;
+        if (n < 1) {
+            return null;
+        }
+        Postings[] lists = new Postings[n];
+        for (int i = 0; i < n; i++) {
+            Postings p = postings.get(key(lowerKeyword, i));
+            if (p == null) {
+                return new int[0];
+            }
+            lists[i] = p;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        Postings smallest = lists[0];
+        int[] out = new int[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            boolean isInAll = true;
+            for (int j = 1; j < lists.length && isInAll; j++) {
+                isInAll = lists[j] == smallest || lists[j].contains(id);
+            }
+            if (isInAll) {
+                out[count++] = id;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static long key(String s, int i) {
+        return (long) s.charAt(i) << 32 | (long) s.charAt(i + 1) << 16 | s.charAt(i + 2);
+    }
+}
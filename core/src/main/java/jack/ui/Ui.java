@@ -0,0 +1,258 @@
+package jack.ui;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jack.model.Task;
+import jack.model.TaskList;
+
+/**
+ * Handles user interaction for the Jack application.
+ * <p>
+ * Provides methods to display messages, errors, and task lists,
+ * as well as reading user commands from standard input.
+ * <p>
+ * In CLI mode output is collected in memory and written to standard output in one go
+ * by {@link #flush()}, which runs before every read and on exit. When
+ * {@code -Djack.ui.asyncFlush=true} is set and standard output is not a console
+ * (a pipe or a file), the writes are handed to a background thread so that the
+ * command loop never waits for the reader of the pipe.
+ */
+public class Ui {
+    /** Horizontal line used to delimit output blocks. */
+    private static final String LINE = "____________________________________________________________";
+
+    /** Scanner used to read input from standard input. */
+    private final Scanner sc = new Scanner(System.in);
+
+    /** Pending output is written early once it grows past this many characters. */
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final boolean captureMode;
+
+    /** Captured text in capture mode; output not yet written to the console otherwise. */
+    private final StringBuilder buffer;
+
+    /** Writes output in the background, or {@code null} to write on the calling thread. */
+    private final ExecutorService writer;
+
+    /** Last background write, awaited by {@link #close()}. */
+    private Future<?> lastWrite;
+
+    /** CLI mode (prints to console). */
+    public Ui() {
+        this(false);
+    }
+
+    /** If captureMode is true, output is captured and retrievable via getCaptured(). */
+    public Ui(boolean captureMode) {
+        this.captureMode = captureMode;
+        this.buffer = new StringBuilder();
+        boolean isAsync = !captureMode && Boolean.getBoolean("jack.ui.asyncFlush") && System.console() == null;
+        this.writer = isAsync ? Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "jack-ui-writer");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    /**
+     * Writes a block of complete lines at once, instead of line by line.
+     */
+    private void rawBlock(CharSequence lines) {
+        buffer.append(lines);
+        flushIfLarge();
+    }
+
+    private void raw(String s) {
+        buffer.append(s).append(System.lineSeparator());
+        flushIfLarge();
+    }
+
+    private void flushIfLarge() {
+        if (!captureMode && buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all pending output to standard output. Does nothing in capture mode.
+     * <p>
+     * In asynchronous mode the write happens on the background thread and this
+     * method returns immediately.
+     */
+    public void flush() {
+        if (captureMode || buffer.length() == 0) {
+            return;
+        }
+        String text = buffer.toString();
+        buffer.setLength(0);
+        PrintStream out = System.out;
+        if (writer == null) {
+            out.print(text);
+            out.flush();
+        } else {
+            lastWrite = writer.submit(() -> {
+                out.print(text);
+                out.flush();
+            });
+        }
+    }
+
+    /**
+     * Writes all pending output and waits until it has reached standard output.
+     */
+    public void close() {
+        flush();
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (lastWrite != null) {
+                lastWrite.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // Nothing more can be reported if writing to standard output failed.
+        }
+        writer.shutdown();
+    }
+
+    /** Gets captured text (GUI mode). */
+    public String getCaptured() {
+        String out = buffer.toString().trim();
+        buffer.setLength(0); // clear the buffer for next use
+        return out;
+    }
+
+    /**
+     * Displays the welcome message at program startup.
+     */
+    public void showWelcome() {
+        showLine();
+        raw(" Hello! I'm Jack");
+        raw(" What can I do for you?");
+        showLine();
+    }
+
+    /**
+     * Reads a command line from the user.
+     *
+     * @return the next line of user input
+     */
+    public String readCommand() {
+        flush();
+        return sc.nextLine();
+    }
+
+    /**
+     * Prints a horizontal line separator.
+     */
+    public void showLine() {
+        if (!captureMode) {
+            raw(LINE);
+        }
+    }
+
+    /**
+     * Displays an error message indicating failure to load previous tasks.
+     */
+    public void showLoadingError() {
+        showBlock("Error loading previous tasks.");
+    }
+
+    /**
+     * Displays a generic error message with the given details.
+     *
+     * @param msg error details
+     */
+    public void showError(String msg) {
+        showBlock("Uh oh! " + msg);
+    }
+
+    /**
+     * Displays the program exit message.
+     */
+    public void showExit() {
+        showBlock("Bye. Hope to see you again soon!");
+        flush();
+    }
+
+    /**
+     * Displays one or more lines of text as a block wrapped between horizontal lines.
+     *
+     * @param lines lines of text to display
+     */
+    public void showBlock(String... lines) {
+        showLine();
+        for (String s : lines) {
+            raw(" " + s);
+        }
+        showLine();
+    }
+
+    /**
+     * Displays the current list of tasks in numbered order.
+     *
+     * @param tasks task list to display
+     */
+    public void showList(TaskList tasks) {
+        showLine();
+        StringBuilder sb = new StringBuilder(" Here are the tasks in your list:").append(System.lineSeparator());
+        List<Task> view = tasks.snapshot();
+        appendTasks(sb, view, 0, view.size());
+        rawBlock(sb);
+        showLine();
+    }
+
+    /**
+     * Displays one page of the task list, numbered by position in the whole list.
+     *
+     * @param tasks task list to display
+     * @param page  one-based page number; should not exceed {@link #pageCount}
+     * @param size  number of tasks per page
+     */
+    public void showPage(TaskList tasks, int page, int size) {
+        List<Task> view = tasks.snapshot();
+        assert page >= 1 : "showPage: page must be positive"; // the list may have shrunk since it was checked
+        int from = (int) Math.min((long) (page - 1) * size, view.size());
+        int to = (int) Math.min((long) from + size, view.size());
+        showLine();
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder(64 * (to - from + 2));
+        sb.append(" Here are the tasks in your list (page ").append(page).append(" of ")
+                .append(pageCount(view.size(), size)).append("):").append(nl);
+        appendTasks(sb, view, from, to);
+        if (to > from) {
+            sb.append(" Showing ").append(from + 1).append('-').append(to)
+                    .append(" of ").append(view.size()).append('.').append(nl);
+        }
+        rawBlock(sb);
+        showLine();
+    }
+
+    /**
+     * Returns the number of pages needed to show {@code count} tasks; an empty list
+     * still has one (empty) page.
+     *
+     * @param count number of tasks
+     * @param size  number of tasks per page
+     * @return number of pages
+     */
+    public static int pageCount(int count, int size) {
+        return Math.max(1, (int) (((long) count + size - 1) / size));
+    }
+
+    private static void appendTasks(StringBuilder sb, List<Task> view, int from, int to) {
+        String nl = System.lineSeparator();
+        for (int i = from; i < to; i++) {
+            sb.append(' ').append(i + 1).append('.').append(view.get(i).render()).append(nl);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package jack.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in logarithmic buckets, so that percentiles can be read at any time.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, which keeps a reported
+ * percentile within about 6% of the true value. Recording is lock-free and allocates
+ * nothing, so it can sit on the path of every command; values of 2^40 ns (about 18
+ * minutes) and more all land in the last bucket. Readers see each counter as it was at
+ * some point while they read, which is exact enough for monitoring.
+ */
+public final class LatencyHistogram {
+    /** Buckets per power of two; a power of two itself. */
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    /** Largest power of two with buckets of its own. */
+    private static final int MAX_EXPONENT = 40;
+
+    private final AtomicLongArray counts =
+            new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos duration in nanoseconds; negative values count as {@code 0}
+     */
+    public void record(long nanos) {
+        long v = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    private static int bucketOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(v), MAX_EXPONENT);
+        int sub = exponent == MAX_EXPONENT && v >= 2L << MAX_EXPONENT
+                ? SUB_BUCKETS - 1
+                : (int) (v >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Returns the largest value that falls into bucket {@code i}. */
+    private static long upperBound(int i) {
+        if (i < SUB_BUCKETS) {
+            return i;
+        }
+        int shift = i / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + i % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return count of {@link #record} calls
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the sum of all recorded durations.
+     *
+     * @return total in nanoseconds
+     */
+    public long totalNanos() {
+        return sum.get();
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return maximum in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long maxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Returns the duration that {@code p} of all recorded durations do not exceed.
+     *
+     * @param p fraction between {@code 0} and {@code 1} (e.g., {@code 0.99})
+     * @return upper bound of the bucket holding that percentile in nanoseconds, at most
+     *         {@link #maxNanos}; {@code 0} if nothing was recorded
+     */
+    public long percentileNanos(double p) {
+        assert p >= 0 && p <= 1 : "percentileNanos: p must be between 0 and 1";
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos());
+            }
+        }
+        return 0;
+    }
+}
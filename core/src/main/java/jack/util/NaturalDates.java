@@ -0,0 +1,453 @@
+package jack.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility for parsing lightweight "natural language" date expressions
+ * (e.g., "today", "next Mon", "in 2 weeks") into {@link LocalDate}.
+ * <p>
+ * Supports both natural keywords and a few common date formats, without
+ * using any external libraries.
+ */public final class NaturalDates {
+    private NaturalDates() {}
+
+    /**
+     * Supported explicit date formats (in addition to keywords), recognized by
+     * {@link #explicitDate}.
+     * Examples:
+     * - 2025-10-01
+     * - 1/10/2025
+     * - 1-10-2025
+     * - 1 Oct 2025
+     * - Oct 1 2025
+     */
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    /** Most relative phrases remembered for the current day. */
+    private static final int CACHE_SIZE = 256;
+
+    /** Value of {@link #parseNumber} for text that is not an {@code int}. */
+    private static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    /** Relative phrases resolved for one "today"; replaced as soon as another day is asked for. */
+    private static volatile RelativeCache cache = new RelativeCache(LocalDate.MIN);
+
+    private static final class RelativeCache {
+        final LocalDate today;
+        final Map<String, LocalDate> dates = new ConcurrentHashMap<>();
+
+        RelativeCache(LocalDate today) {
+            this.today = today;
+        }
+    }
+
+    /**
+     * Parses a natural-language or formatted date string relative to a given "today".
+     *
+     * <p>Examples:
+     * <ul>
+     *   <li>"today" → {@code today}</li>
+     *   <li>"tomorrow" → {@code today.plusDays(1)}</li>
+     *   <li>"yesterday" → {@code today.minusDays(1)}</li>
+     *   <li>"in 3 days" → {@code today.plusDays(3)}</li>
+     *   <li>"in 2 weeks" → {@code today.plusWeeks(2)}</li>
+     *   <li>"next Monday" → next Monday strictly after today</li>
+     *   <li>"Mon" → next Monday strictly after today</li>
+     *   <li>"2025-10-01" → parsed using ISO format</li>
+     * </ul>
+     *
+     * @param raw   the input string (must not be null or empty)
+     * @param today the base date to interpret relative expressions
+     * @return parsed {@link LocalDate}
+     * @throws IllegalArgumentException if input is null, empty, or unrecognized
+     */
+    public static LocalDate parse(String raw, LocalDate today) {
+        if (raw == null) throw new IllegalArgumentException("date string is null");
+        LocalDate date = tryParse(raw, today);
+        if (date == null) {
+            throw new IllegalArgumentException(raw.isBlank() ? "date string is empty" : "Unrecognized date: " + raw);
+        }
+        return date;
+    }
+
+    /**
+     * Parses a date like {@link #parse}, but returns {@code null} instead of throwing when
+     * the text is not a date, for callers that try several readings of their input.
+     * <p>
+     * The text is scanned once without throwing or copying it. Relative phrases
+     * ("tomorrow", "next Mon") are remembered for the given {@code today}, so repeating
+     * them is a single lookup.
+     *
+     * @param raw   the input string, may be {@code null}
+     * @param today the base date to interpret relative expressions
+     * @return parsed date, or {@code null} if the text is not a date
+     */
+    public static LocalDate tryParse(String raw, LocalDate today) {
+        if (raw == null) return null;
+        RelativeCache c = cache;
+        if (!c.today.equals(today)) {
+            c = new RelativeCache(today);
+            cache = c;
+        }
+        LocalDate date = c.dates.get(raw);
+        if (date != null) return date;
+
+        int from = 0;
+        int to = raw.length();
+        while (from < to && raw.charAt(from) <= ' ') from++;
+        while (to > from && raw.charAt(to - 1) <= ' ') to--;
+        if (from == to) return null;
+
+        char first = (char) (raw.charAt(from) | 0x20);
+        date = first >= 'a' && first <= 'z' ? relativeDate(raw, from, to, today) : null;
+        if (date != null) {
+            if (c.dates.size() >= CACHE_SIZE) c.dates.clear();
+            c.dates.put(raw, date);
+            return date;
+        }
+        return explicitDate(raw, from, to);
+    }
+
+    /** Resolves a keyword, "in N days/weeks", "next DAY" or a bare weekday in {@code s[from, to)}. */
+    private static LocalDate relativeDate(String s, int from, int to, LocalDate today) {
+        // Keywords
+        if (isWord(s, from, to, "today")) return today;
+        if (isWord(s, from, to, "tomorrow")) return today.plusDays(1);
+        if (isWord(s, from, to, "yesterday")) return today.minusDays(1);
+
+        // "in N days/weeks"
+        if (startsWith(s, from, to, "in ")) {
+            int numStart = skipSpaces(s, from + 3, to);
+            int numEnd = nextSpace(s, numStart, to);
+            int unitStart = skipSpaces(s, numEnd, to);
+            int unitEnd = nextSpace(s, unitStart, to);
+            long n = parseNumber(s, numStart, numEnd);
+            if (n != NOT_A_NUMBER && numEnd < unitStart && unitEnd == to) {
+                if (startsWith(s, unitStart, to, "day")) return today.plusDays(n);
+                if (startsWith(s, unitStart, to, "week")) return today.plusWeeks(n);
+            }
+        }
+
+        // "next mon", "next monday"
+        if (startsWith(s, from, to, "next ")) {
+            DayOfWeek dow = parseDayOfWeek(s, skipBlanks(s, from + 5, to), to);
+            if (dow != null) return next(dow, today);
+        }
+
+        // bare weekday: "mon", "monday" => next occurrence (excluding today)
+        DayOfWeek maybeDow = parseDayOfWeek(s, from, to);
+        return maybeDow == null ? null : next(maybeDow, today);
+    }
+
+    /**
+     * Recognizes one of the explicit date formats in {@code s[from, to)} by its shape:
+     * ISO {@code uuuu-MM-dd} strictly, and {@code d/M/uuuu}, {@code d-M-uuuu},
+     * {@code d MMM uuuu} and {@code MMM d uuuu} with a day past the end of the month
+     * moved back to its last day, as {@code DateTimeFormatter} does for these patterns.
+     *
+     * @return the date, or {@code null} if the text has none of these shapes
+     */
+    private static LocalDate explicitDate(String s, int from, int to) {
+        int month = monthName(s, from, to);
+        if (month > 0) {
+            // MMM d uuuu
+            int dayEnd = digitsEnd(s, from + 4, to);
+            if (from + 3 >= to || s.charAt(from + 3) != ' ' || dayEnd == from + 4
+                    || dayEnd >= to || s.charAt(dayEnd) != ' ') {
+                return null;
+            }
+            return smartDate(year(s, dayEnd + 1, to), month, digits(s, from + 4, dayEnd));
+        }
+        int firstEnd = digitsEnd(s, from, to);
+        if (firstEnd == from || firstEnd == to) {
+            return from < to && (s.charAt(from) == '+' || s.charAt(from) == '-') ? isoDate(s, from, to) : null;
+        }
+        char sep = s.charAt(firstEnd);
+        if (sep == ' ') {
+            // d MMM uuuu
+            month = monthName(s, firstEnd + 1, to);
+            if (month < 0 || firstEnd + 4 >= to || s.charAt(firstEnd + 4) != ' ') return null;
+            return smartDate(year(s, firstEnd + 5, to), month, digits(s, from, firstEnd));
+        }
+        if (sep == '-' && firstEnd - from >= 4) {
+            LocalDate iso = isoDate(s, from, to);
+            if (iso != null) return iso;
+        }
+        if (sep == '/' || sep == '-') {
+            // d/M/uuuu, d-M-uuuu
+            int monthEnd = digitsEnd(s, firstEnd + 1, to);
+            if (monthEnd == firstEnd + 1 || monthEnd >= to || s.charAt(monthEnd) != sep) return null;
+            return smartDate(year(s, monthEnd + 1, to), digits(s, firstEnd + 1, monthEnd), digits(s, from, firstEnd));
+        }
+        return null;
+    }
+
+    /** Parses ISO {@code uuuu-MM-dd}, rejecting days that the month does not have. */
+    private static LocalDate isoDate(String s, int from, int to) {
+        if (to - from < 10 || s.charAt(to - 3) != '-' || s.charAt(to - 6) != '-'
+                || digitsEnd(s, to - 5, to - 3) != to - 3 || digitsEnd(s, to - 2, to) != to) {
+            return null;
+        }
+        long year = year(s, from, to - 6);
+        int month = (int) digits(s, to - 5, to - 3);
+        int day = (int) digits(s, to - 2, to);
+        if (year == NOT_A_NUMBER || month < 1 || month > 12 || day < 1
+                || day > YearMonth.of((int) year, month).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of((int) year, month, day);
+    }
+
+    /** Builds a date, moving a day past the end of the month back to its last day. */
+    private static LocalDate smartDate(long year, long month, long day) {
+        if (year == NOT_A_NUMBER || month < 1 || month > 12 || day < 1 || day > 31) return null;
+        YearMonth ym = YearMonth.of((int) year, (int) month);
+        return ym.atDay((int) Math.min(day, ym.lengthOfMonth()));
+    }
+
+    /**
+     * Parses a {@code uuuu} year filling {@code s[from, to)}: four digits, or more with a sign.
+     *
+     * @return the year, or {@link #NOT_A_NUMBER} if it is not one
+     */
+    private static long year(String s, int from, int to) {
+        if (from >= to) return NOT_A_NUMBER;
+        char sign = s.charAt(from);
+        boolean isSigned = sign == '+' || sign == '-';
+        int start = isSigned ? from + 1 : from;
+        int length = to - start;
+        if (digitsEnd(s, start, to) != to || length < 4 || length > 10
+                || (isSigned ? sign == '+' && length == 4 : length > 4)) {
+            return NOT_A_NUMBER;
+        }
+        long year = digits(s, start, to);
+        if (year > Year.MAX_VALUE) return NOT_A_NUMBER;
+        return sign == '-' ? -year : year;
+    }
+
+    /** Returns the month (1-12) whose English abbreviation, in title case, starts {@code s[from, to)}; else -1. */
+    private static int monthName(String s, int from, int to) {
+        if (to - from < 3 || s.charAt(from) < 'A' || s.charAt(from) > 'Z') return -1;
+        for (int m = 0; m < MONTHS.length; m++) {
+            if (s.startsWith(MONTHS[m], from)) return m + 1;
+        }
+        return -1;
+    }
+
+    /** Returns the end of the run of ASCII digits starting at {@code from}. */
+    private static int digitsEnd(String s, int from, int to) {
+        int i = from;
+        while (i < to && s.charAt(i) >= '0' && s.charAt(i) <= '9') i++;
+        return i;
+    }
+
+    /** Returns the value of the ASCII digits {@code s[from, to)}, saturating instead of overflowing. */
+    private static long digits(String s, int from, int to) {
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            n = Math.min(n * 10 + (s.charAt(i) - '0'), Integer.MAX_VALUE + 1L);
+        }
+        return n;
+    }
+
+    /**
+     * Parses {@code s[from, to)} as {@link Integer#parseInt} would.
+     *
+     * @return the number, or {@link #NOT_A_NUMBER} if it is not an {@code int}
+     */
+    private static long parseNumber(String s, int from, int to) {
+        if (from >= to) return NOT_A_NUMBER;
+        char sign = s.charAt(from);
+        int i = sign == '+' || sign == '-' ? from + 1 : from;
+        if (i == to) return NOT_A_NUMBER;
+        long n = 0;
+        for (; i < to; i++) {
+            int d = Character.digit(s.charAt(i), 10);
+            if (d < 0) return NOT_A_NUMBER;
+            n = n * 10 + d;
+            if (n > Integer.MAX_VALUE + 1L) return NOT_A_NUMBER;
+        }
+        n = sign == '-' ? -n : n;
+        return n > Integer.MAX_VALUE ? NOT_A_NUMBER : n;
+    }
+
+    private static boolean isWord(String s, int from, int to, String word) {
+        return to - from == word.length() && s.regionMatches(true, from, word, 0, word.length());
+    }
+
+    private static boolean startsWith(String s, int from, int to, String prefix) {
+        return to - from >= prefix.length() && s.regionMatches(true, from, prefix, 0, prefix.length());
+    }
+
+    /** Whether {@code c} is whitespace as matched by the regex {@code \\s}. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static int skipSpaces(String s, int from, int to) {
+        while (from < to && isSpace(s.charAt(from))) from++;
+        return from;
+    }
+
+    private static int skipBlanks(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        return from;
+    }
+
+    private static int nextSpace(String s, int from, int to) {
+        while (from < to && !isSpace(s.charAt(from))) from++;
+        return from;
+    }
+
+    /**
+     * Resolves the free-form endpoints of an event into a date-time interval.
+     *
+     * <p>Each endpoint is a date, a time, or a date followed by a time, e.g.
+     * "Mon 2pm", "2025-10-01 14:00", "tomorrow", "4pm". Missing parts are filled in:
+     * <ul>
+     *   <li>a start without a date is {@code today}; an end without a date is the start's date,
+     *       or the day after if that would put the end before the start ("11pm" to "1am")</li>
+     *   <li>a start without a time begins at midnight; an end without a time lasts until
+     *       the end of that day</li>
+     * </ul>
+     *
+     * @param from  start text of the event
+     * @param to    end text of the event
+     * @param today the base date to interpret relative expressions
+     * @return {@code [start, end]}, or {@code null} if either endpoint is not recognized or
+     *         the end is before the start
+     */
+    public static LocalDateTime[] parseInterval(String from, String to, LocalDate today) {
+        Endpoint a = endpoint(from, today);
+        Endpoint b = endpoint(to, today);
+        if (a == null || b == null) return null;
+        LocalDate startDay = a.day == null ? today : a.day;
+        LocalDateTime start = startDay.atTime(a.time == null ? LocalTime.MIDNIGHT : a.time);
+        LocalDateTime end;
+        if (b.day == null) {
+            end = startDay.atTime(b.time);
+            if (end.isBefore(start)) end = end.plusDays(1);
+        } else if (b.time == null) {
+            end = b.day.plusDays(1).atStartOfDay();
+        } else {
+            end = b.day.atTime(b.time);
+        }
+        return end.isBefore(start) ? null : new LocalDateTime[] {start, end};
+    }
+
+    /** A date and/or time of day; at least one of them is set. */
+    private static final class Endpoint {
+        final LocalDate day;
+        final LocalTime time;
+
+        Endpoint(LocalDate day, LocalTime time) {
+            this.day = day;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Parses "DATE", "TIME" or "DATE TIME" (the time may be split as in "2 pm").
+     * <p>
+     * A trailing time is looked for first: a weekday is recognized by its first three
+     * letters, so "Mon 2pm" read as a plain date would lose its time.
+     *
+     * @return the endpoint, or {@code null} if it is not recognized
+     */
+    private static Endpoint endpoint(String raw, LocalDate today) {
+        if (raw == null || raw.isBlank()) return null;
+        String s = raw.trim();
+        String[] words = s.split("\\s+");
+        for (int n = 1; n <= Math.min(2, words.length); n++) {
+            String time = String.join("", Arrays.copyOfRange(words, words.length - n, words.length));
+            String day = String.join(" ", Arrays.copyOfRange(words, 0, words.length - n));
+            LocalTime t = timeOf(time);
+            if (t == null) continue; // try a two-word time such as "2 pm"
+            if (day.isEmpty()) return new Endpoint(null, t);
+            LocalDate date = tryParse(day, today);
+            if (date != null) return new Endpoint(date, t);
+        }
+        LocalDate date = tryParse(s, today);
+        return date == null ? null : new Endpoint(date, null);
+    }
+
+    /**
+     * Parses a time of day such as "2pm", "2:30pm", "14:00" or "1800".
+     *
+     * @param raw the time text
+     * @return parsed {@link LocalTime}
+     * @throws IllegalArgumentException if the text is not a valid time
+     */
+    public static LocalTime parseTime(String raw) {
+        LocalTime time = timeOf(raw);
+        if (time == null) throw new IllegalArgumentException("Unrecognized time: " + raw);
+        return time;
+    }
+
+    /** Parses a time like {@link #parseTime}, returning {@code null} if it is not one. */
+    private static LocalTime timeOf(String raw) {
+        String t = raw.trim().toLowerCase(Locale.ENGLISH).replace(" ", "");
+        boolean isPm = t.endsWith("pm");
+        boolean isAm = t.endsWith("am");
+        int end = isPm || isAm ? t.length() - 2 : t.length();
+        long hour;
+        long minute = 0;
+        int colon = t.indexOf(':');
+        if (colon >= 0 && colon < end) {
+            hour = parseNumber(t, 0, colon);
+            minute = parseNumber(t, colon + 1, end);
+        } else if (end == 4 && !isAm && !isPm) {
+            hour = parseNumber(t, 0, 2);
+            minute = parseNumber(t, 2, 4);
+        } else {
+            hour = parseNumber(t, 0, end);
+        }
+        if (hour == NOT_A_NUMBER || minute == NOT_A_NUMBER) return null;
+        if (isAm || isPm) {
+            if (hour < 1 || hour > 12) return null;
+            hour = hour % 12 + (isPm ? 12 : 0);
+        }
+        if (hour > 23 || minute > 59 || hour < 0 || minute < 0) {
+            return null;
+        }
+        return LocalTime.of((int) hour, (int) minute);
+    }
+
+    /** Reads the day of week named by the first three letters of {@code s[from, to)}, if any. */
+    private static DayOfWeek parseDayOfWeek(String s, int from, int to) {
+        if (to - from < 3) return null;
+        char first = Character.toUpperCase(s.charAt(from));
+        for (DayOfWeek dow : DAYS) {
+            if (dow.name().charAt(0) == first && s.regionMatches(true, from, dow.name(), 0, 3)) return dow;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the next occurrence of the given day of week strictly after {@code from}.
+     * <p>
+     * If {@code from} is already the given day, returns 7 days later.
+     *
+     * @param target the desired day of week
+     * @param from   the base date
+     * @return the next matching date
+     */
+    private static LocalDate next(DayOfWeek target, LocalDate from) {
+        int add = (target.getValue() - from.getDayOfWeek().getValue() + 7) % 7;
+        if (add == 0) add = 7; // "next Mon" means next week if today is Mon
+        return from.plusDays(add);
+    }
+}
@@ -0,0 +1,182 @@
+package jack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jack.model.Storage;
+import jack.model.Task;
+import jack.model.TaskList;
+
+public class ServerTest {
+    @TempDir
+    Path dir;
+
+    private Storage storage;
+    private TaskList tasks;
+    private Server server;
+    private final List<Client> clients = new ArrayList<>();
+
+    /** One connection, reading replies up to their end line. */
+    private final class Client implements AutoCloseable {
+        final Socket socket;
+        final BufferedReader in;
+        final Writer out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            clients.add(this);
+        }
+
+        String send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+            return reply();
+        }
+
+        String reply() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while (!(line = in.readLine()).equals(Server.END_OF_REPLY)) {
+                sb.append(line).append('\n');
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private void start(int maxClients) throws IOException {
+        storage = new Storage(dir, true, 1 << 20);
+        tasks = new TaskList(storage.load(), storage.getNextId());
+        server = new Server(tasks, storage, 0, maxClients);
+        Thread acceptor = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        for (Client c : clients) {
+            c.close();
+        }
+        if (server != null) {
+            server.close();
+            storage.close();
+        }
+    }
+
+    @Test
+    @DisplayName("a client gets a welcome, one framed reply per command, and is disconnected by bye")
+    void framing_welcomeRepliesAndBye() throws Exception {
+        start(4);
+        Client c = new Client();
+
+        assertTrue(c.reply().contains("Hello! I'm Jack"));
+        String added = c.send("todo read book");
+        assertTrue(added.contains("Got it. I've added this task as #1:"), added);
+        assertTrue(c.send("list").contains("1.[T][ ] read book"));
+        assertTrue(c.send("bye").contains("Bye. Hope to see you again soon!"));
+        assertNull(c.in.readLine(), "bye should close the connection");
+    }
+
+    @Test
+    @DisplayName("reply lines starting with '.' are dot-stuffed so they cannot end the reply")
+    void reply_dotStuffsLines() throws Exception {
+        StringWriter out = new StringWriter();
+
+        Server.reply(out, "plain\n.hidden\n.");
+
+        assertEquals("plain\n..hidden\n..\n.\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("clients beyond maxClients wait until a slot frees up")
+    void maxClients_limitsConcurrentConnections() throws Exception {
+        start(1);
+        Client first = new Client();
+        first.reply();
+        Client second = new Client();
+        second.socket.setSoTimeout(300);
+        assertThrows(SocketTimeoutException.class, second::reply);
+
+        first.send("bye");
+        second.socket.setSoTimeout(5000);
+        assertTrue(second.reply().contains("Hello! I'm Jack"));
+    }
+
+    @Test
+    @DisplayName("changes from two clients are serialized: every task is added once with its own id")
+    void writes_serializedAcrossClients() throws Exception {
+        start(4);
+        int perClient = 200;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int n = 0; n < 2; n++) {
+            Client c = new Client();
+            c.reply();
+            String name = "client" + n;
+            Thread t = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perClient; i++) {
+                        String reply = c.send("todo " + name + " task " + i);
+                        assertTrue(reply.contains("Got it."), reply);
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(List.of(), errors);
+        assertEquals(2 * perClient, tasks.size());
+        Set<Integer> ids = new HashSet<>();
+        for (Task t : tasks.snapshot()) {
+            ids.add(t.getId());
+        }
+        assertEquals(2 * perClient, ids.size());
+        storage.flush();
+        assertEquals(2 * perClient, new Storage(dir, true, 1 << 20).load().size());
+    }
+}
@@ -0,0 +1,47 @@
+package jack.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IntervalTreeTest {
+
+    @Test
+    @DisplayName("overlapping() agrees with a linear scan under random adds and removes")
+    void overlapping_matchesLinearScan() {
+        Random rnd = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> live = new ArrayList<>(); // {id, start, end}
+        for (int id = 0; id < 2000; id++) {
+            long start = rnd.nextInt(10_000);
+            long end = start + rnd.nextInt(200);
+            tree.add(id, start, end);
+            live.add(new long[]{id, start, end});
+            if (rnd.nextInt(4) == 0) {
+                long[] gone = live.remove(rnd.nextInt(live.size()));
+                tree.remove((int) gone[0], gone[1]);
+            }
+        }
+        assertEquals(live.size(), tree.size());
+
+        live.sort((a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(a[0], b[0]));
+        for (int q = 0; q < 200; q++) {
+            long from = rnd.nextInt(10_000);
+            long to = from + 1 + rnd.nextInt(300);
+            List<Integer> expected = new ArrayList<>();
+            for (long[] iv : live) {
+                if (iv[1] < to && Math.max(iv[2], iv[1] + 1) > from) {
+                    expected.add((int) iv[0]);
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            tree.overlapping(from, to, actual::add);
+            assertEquals(expected, actual, "overlapping(" + from + ", " + to + ")");
+        }
+    }
+}
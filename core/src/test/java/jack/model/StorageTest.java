@@ -0,0 +1,345 @@
+package jack.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StorageTest {
+    @TempDir
+    Path dir;
+
+    private static ArrayList<Task> sample() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 6, 6)));
+        tasks.add(new Event("project meeting", "Mon 2pm", "4pm"));
+        tasks.add(new Event("standup", "Tue 9am", "9:15am",
+                LocalDateTime.of(2025, 6, 10, 9, 0), LocalDateTime.of(2025, 6, 10, 9, 15)));
+        tasks.get(1).markAsDone();
+        return tasks;
+    }
+
+    private static String render(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (Task t : tasks) {
+            sb.append('#').append(t.getId()).append(' ').append(t);
+            if (t instanceof Event && ((Event) t).hasInterval()) {
+                sb.append(" @ ").append(((Event) t).getStart()).append('/').append(((Event) t).getEnd());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("save() then load() round-trips every task type")
+    void saveLoad_roundTrip() throws Exception {
+        Storage storage = new Storage(dir, false, 1024);
+        ArrayList<Task> tasks = sample();
+        storage.save(tasks);
+
+        assertEquals(render(tasks), render(new Storage(dir, false, 1024).load()));
+    }
+
+    @Test
+    @DisplayName("byte counters and save times cover both the snapshot and the journal")
+    void counters_trackSnapshotAndJournal() throws Exception {
+        Storage storage = new Storage(dir, true, 1 << 20);
+        ArrayList<Task> tasks = storage.load();
+        long journalHeader = storage.getBytesWritten();
+        assertTrue(journalHeader > 0, "The fresh journal's header should be counted");
+        assertTrue(storage.getLoadNanos() >= 0);
+
+        storage.save(sample());
+        long snapshot = Files.size(dir.resolve("jack.txt"));
+        assertEquals(1, storage.getSaveTimes().count());
+        assertTrue(storage.getBytesWritten() >= journalHeader + snapshot);
+
+        Task t = new Todo("write report");
+        tasks.add(t);
+        long before = storage.getBytesWritten();
+        storage.commit(tasks, Journal.added(t));
+        assertTrue(storage.getBytesWritten() > before, "Journal appends should be counted");
+        storage.close();
+
+        Storage reopened = new Storage(dir, true, 1 << 20);
+        reopened.load();
+        assertTrue(reopened.getBytesRead() > snapshot, "Both the snapshot and the journal should be read");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("journaled commits are replayed on top of the snapshot")
+    void journal_replaysMutations() throws Exception {
+        Storage storage = new Storage(dir, true, 1 << 20);
+        ArrayList<Task> tasks = storage.load();
+        for (Task t : sample()) {
+            tasks.add(t);
+            storage.commit(tasks, Journal.added(t));
+        }
+        tasks.get(0).markAsDone();
+        storage.commit(tasks, Journal.marked(0, true));
+        tasks.remove(2);
+        storage.commit(tasks, Journal.deleted(2));
+        storage.close();
+
+        assertFalse(Files.exists(dir.resolve("jack.txt")), "Snapshot should not be rewritten per command");
+        Storage reopened = new Storage(dir, true, 1 << 20);
+        assertEquals(render(tasks), render(reopened.load()));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("id records replay by id, after legacy positional records and across reloads")
+    void journal_replaysIdRecords() throws Exception {
+        Files.writeString(dir.resolve("jack.txt"), "T | 0 | old one\nT | 0 | old two\nT | 0 | old three\n");
+        Storage old = new Storage(dir, true, 1 << 20); // a session of a version without ids
+        ArrayList<Task> legacy = old.load();
+        legacy.remove(0);
+        old.commit(legacy, Journal.deleted(0));
+        old.close();
+
+        Storage storage = new Storage(dir, true, 1 << 20);
+        TaskList tasks = new TaskList(storage.load());
+        for (Task t : sample()) {
+            tasks.add(t);
+            storage.commit(tasks, Journal.added(t));
+        }
+        Task marked = tasks.mark(tasks.indexOfId(2), true);
+        storage.commit(tasks, Journal.marked(marked, true));
+        Task removed = tasks.remove(tasks.indexOfId(4));
+        storage.commit(tasks, Journal.deleted(removed));
+        storage.close();
+
+        assertEquals("[T][X] old three", marked.toString());
+        ArrayList<Task> expected = tasks.raw();
+        Storage reopened = new Storage(dir, true, 1 << 20);
+        assertEquals(render(expected), render(reopened.load()));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("a journal past the threshold is compacted into the snapshot")
+    void journal_compactsPastThreshold() throws Exception {
+        Storage storage = new Storage(dir, true, 256);
+        ArrayList<Task> tasks = storage.load();
+        for (int i = 0; i < 50; i++) {
+            Task t = new Todo("task " + i);
+            tasks.add(t);
+            storage.commit(tasks, Journal.added(t));
+        }
+        storage.close();
+
+        assertTrue(Files.exists(dir.resolve("jack.txt")), "Snapshot should have been written");
+        String header = Files.readAllLines(dir.resolve("jack.txt.journal")).get(0);
+        assertTrue(Journal.parseGen(header) > 0, "Journal should have been rotated");
+        Storage reopened = new Storage(dir, true, 256);
+        assertEquals(render(tasks), render(reopened.load()));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("async commits are grouped and written by flush() and close()")
+    void asyncWrites_flushAndClose() throws Exception {
+        Storage storage = new Storage(dir, false, 1024);
+        storage.enableAsyncWrites(50, 16);
+        ArrayList<Task> tasks = storage.load();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo("task " + i));
+            storage.commit(tasks);
+        }
+        storage.flush();
+        assertEquals(render(tasks), render(new Storage(dir, false, 1024).load()));
+
+        tasks.get(0).markAsDone();
+        storage.commit(tasks);
+        storage.close();
+        assertEquals(render(tasks), render(new Storage(dir, false, 1024).load()));
+    }
+
+    @Test
+    @DisplayName("a failed async write is reported once by flush(), and a full save recovers")
+    void asyncWrites_reportFailure() throws Exception {
+        Storage storage = new Storage(dir, false, 1024);
+        storage.enableAsyncWrites(0, 16);
+        ArrayList<Task> tasks = storage.load();
+        Files.createDirectories(dir.resolve("jack.txt"));
+        tasks.add(new Todo("lost"));
+        storage.commit(tasks);
+
+        assertThrows(IOException.class, storage::flush);
+        storage.flush();
+
+        Files.delete(dir.resolve("jack.txt"));
+        storage.save(tasks);
+        storage.close();
+        assertEquals(render(tasks), render(new Storage(dir, false, 1024).load()));
+    }
+
+    @Test
+    @DisplayName("flush() racing with close() returns instead of waiting behind the stop request")
+    void asyncWrites_flushDuringClose() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            Storage storage = new Storage(dir, false, 1024);
+            storage.enableAsyncWrites(0, 16);
+            ArrayList<Task> tasks = storage.load();
+            tasks.add(new Todo("task " + round));
+            storage.commit(tasks);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> flushers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread flusher = new Thread(() -> {
+                    try {
+                        start.await();
+                        storage.flush();
+                    } catch (IOException | InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                flusher.setDaemon(true);
+                flusher.start();
+                flushers.add(flusher);
+            }
+            start.countDown();
+            storage.close();
+            for (Thread flusher : flushers) {
+                flusher.join(5000);
+                assertFalse(flusher.isAlive(), "flush() should not hang in round " + round);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("a commit that cannot be queued because of an interrupt is written by the caller")
+    void asyncWrites_interruptedCommitFallsBack() throws Exception {
+        Storage storage = new Storage(dir, false, 1024);
+        storage.enableAsyncWrites(0, 16);
+        ArrayList<Task> tasks = storage.load();
+        tasks.add(new Todo("kept"));
+        Thread.currentThread().interrupt();
+        try {
+            // Nothing can be queued, so the list is written on this thread before commit() returns.
+            storage.commit(tasks);
+            assertTrue(Thread.currentThread().isInterrupted(), "The interrupt should be kept");
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(render(tasks), render(new Storage(dir, false, 1024).load()));
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("load() skips blank and corrupted lines and handles CRLF and very long lines")
+    void load_toleratesMessyFiles() throws Exception {
+        String longDesc = "x".repeat(200_000);
+        String content = "T | 1 | read book\r\n"
+                + "\r\n"
+                + "D | 0 | bad date | 2025-13-01\n"
+                + "garbage\n"
+                + "D|0|return book|2025-06-06\n"
+                + "T | 0 | " + longDesc + "\n"
+                + "E | 1 | café | Mon 2pm | 4pm";
+        Files.writeString(dir.resolve("jack.txt"), content);
+
+        ArrayList<Task> tasks = new Storage(dir, false, 1024).load();
+
+        assertEquals(4, tasks.size());
+        assertEquals("[T][X] read book", tasks.get(0).toString());
+        assertEquals("[D][ ] return book (by: Jun 6 2025)", tasks.get(1).toString());
+        assertEquals("[T][ ] " + longDesc, tasks.get(2).toString());
+        assertEquals("[E][X] café (from: Mon 2pm to: 4pm)", tasks.get(3).toString());
+    }
+
+    @Test
+    @DisplayName("deferred commits write nothing until savePending()")
+    void deferred_savesOnceOnDemand() throws Exception {
+        Storage storage = new Storage(dir, true, 1 << 20);
+        TaskList tasks = new TaskList(storage.load());
+        storage.setDeferred(true);
+        for (Task t : sample()) {
+            tasks.add(t);
+            storage.commit(tasks, Journal.added(t));
+        }
+        assertEquals(4, storage.pendingCommits());
+        assertEquals("", render(new Storage(dir, false, 1024).load()));
+
+        assertTrue(storage.savePending(tasks));
+        assertFalse(storage.savePending(tasks), "Nothing left to save");
+        storage.setDeferred(false);
+        storage.close();
+        assertEquals(render(tasks.snapshot()), render(new Storage(dir, true, 1 << 20).load()));
+    }
+
+    @Test
+    @DisplayName("binary snapshots round-trip, and jack.txt is migrated to jack.bin once")
+    void binary_roundTripAndMigration() throws Exception {
+        ArrayList<Task> tasks = sample();
+        tasks.add(new Todo("naïve ✓ " + "y".repeat(100_000)));
+        tasks = new TaskList(tasks).raw(); // with ids
+        new Storage(dir, false, 1024).save(tasks);
+
+        Storage binary = new Storage(dir, Storage.Format.BINARY, false, 1024);
+        assertEquals(render(tasks), render(binary.load()));
+        assertTrue(Files.exists(dir.resolve("jack.bin")), "Binary snapshot should be written on migration");
+        assertTrue(Files.exists(dir.resolve("jack.txt.bak")), "Text snapshot should be kept as a backup");
+        assertFalse(Files.exists(dir.resolve("jack.txt")), "Text snapshot should be moved away");
+
+        tasks.get(0).markAsDone();
+        binary.save(tasks);
+        assertEquals(render(tasks), render(new Storage(dir, Storage.Format.BINARY, false, 1024).load()));
+
+        // The id of a deleted last task must stay used across the migration.
+        Path old = dir.resolve("old");
+        TaskList list = new TaskList(sample());
+        list.remove(list.size() - 1);
+        new Storage(old, false, 1024).save(list);
+        Storage migrated = new Storage(old, Storage.Format.BINARY, false, 1024);
+        migrated.load();
+        assertEquals(5, migrated.getNextId());
+        Storage reopened = new Storage(old, Storage.Format.BINARY, false, 1024);
+        TaskList fromBinary = new TaskList(reopened.load(), reopened.getNextId());
+        fromBinary.add(new Todo("new"));
+        assertEquals(5, fromBinary.get(fromBinary.size() - 1).getId());
+    }
+
+    @Test
+    @DisplayName("parallel decoding yields the same tasks in the same order as sequential decoding")
+    void decodeParallel_matchesSequential() {
+        StringBuilder sb = new StringBuilder(Journal.GEN_HEADER + "7\n" + TextCodec.NEXT_ID_HEADER + "9000\n");
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i % 2 == 0 ? "T | 0 | task " + i : "D | 1 | due " + i + " | 2025-10-01").append('\n');
+        }
+        byte[] buf = sb.toString().getBytes(StandardCharsets.UTF_8);
+        ArrayList<Task> sequential = new ArrayList<>();
+        ArrayList<Task> parallel = new ArrayList<>();
+
+        int[] seqNext = new int[1];
+        int[] parNext = new int[1];
+
+        long seqGen = TextCodec.decodeAll(buf, 0, buf.length, sequential, seqNext);
+        long parGen = TextCodec.decodeParallel(buf, parallel, new ForkJoinPool(4), parNext);
+
+        assertEquals(5000, parallel.size());
+        assertEquals(render(sequential), render(parallel));
+        assertEquals(seqGen, parGen);
+        assertEquals(7L, parGen);
+        assertEquals(9000, seqNext[0]);
+        assertEquals(9000, parNext[0]);
+    }
+}
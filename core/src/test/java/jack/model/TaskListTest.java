@@ -0,0 +1,359 @@
+package jack.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskListTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("add() increases size and stores the correct task")
+    void add_increasesSizeAndStoresTask() {
+        TaskList list = new TaskList(new ArrayList<>());
+        Deadline d = new Deadline("read SE guide", LocalDate.of(2025, 9, 20));
+
+        int before = list.size();
+        list.add(d);
+
+        assertEquals(before + 1, list.size(), "Size should increase by 1");
+        assertEquals(d, list.get(list.size() - 1), "Last element should be the added task");
+    }
+
+    @Test
+    @DisplayName("remove(index) removes the right element and checks bounds")
+    void remove_removesAndChecksBounds() {
+        TaskList list = new TaskList(new ArrayList<>());
+        list.add(new Todo("t1"));
+        list.add(new Todo("t2"));
+        list.add(new Todo("t3"));
+
+        Task removed = list.remove(1); // remove middle element
+        assertTrue(removed.toString().contains("t2"), "Removed task should contain 't2'");
+        assertEquals(2, list.size(), "Size should decrease by 1");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(42));
+    }
+
+    @Test
+    @DisplayName("findTasks() keeps list order and tracks add, remove and description changes")
+    void findTasks_tracksMutations() {
+        TaskList list = new TaskList(new ArrayList<>());
+        list.add(new Todo("Read Book"));
+        list.add(new Todo("return book"));
+        list.add(new Todo("buy milk"));
+
+        assertEquals("Here are the matching tasks in your list:\n1.[T][ ] Read Book"
+                + System.lineSeparator() + "2.[T][ ] return book", list.findTasks("BOOK"));
+
+        list.remove(0);
+        list.add(new Todo("bookshelf"));
+        list.setDescription(1, "buy books");
+        assertEquals("Here are the matching tasks in your list:\n1.[T][ ] return book"
+                + System.lineSeparator() + "2.[T][ ] buy books"
+                + System.lineSeparator() + "3.[T][ ] bookshelf", list.findTasks("book"));
+        assertEquals("No matching tasks found for: \"milk\"", list.findTasks("milk"));
+    }
+
+    @Test
+    @DisplayName("findTasks() still matches keywords shorter than a trigram")
+    void findTasks_shortKeyword() {
+        TaskList list = new TaskList(new ArrayList<>());
+        list.add(new Todo("a"));
+        list.add(new Todo("bc"));
+        list.add(new Todo("abc"));
+
+        assertEquals("Here are the matching tasks in your list:\n1.[T][ ] bc"
+                + System.lineSeparator() + "2.[T][ ] abc", list.findTasks("b"));
+    }
+
+    @Test
+    @DisplayName("query() combines type, status, date and keyword filters across mutations")
+    void query_combinesFilters() {
+        TaskList list = new TaskList(new ArrayList<>());
+        list.add(new Deadline("report draft", LocalDate.of(2025, 3, 1)));
+        list.add(new Deadline("report final", LocalDate.of(2025, 3, 10)));
+        list.add(new Todo("report ideas"));
+        list.add(new Event("report review", "Mon 2pm", "4pm"));
+
+        TaskQuery openBeforeFifth = new TaskQuery("q", TaskType.DEADLINE, false,
+                LocalDate.of(2025, 3, 5), null, "report");
+        assertEquals("Here are the matching tasks in your list:\n1.[D][ ] report draft (by: Mar 1 2025)",
+                list.query(openBeforeFifth));
+
+        list.mark(0, true);
+        assertEquals("No matching tasks found for: \"q\"", list.query(openBeforeFifth));
+
+        list.add(new Deadline("report appendix", LocalDate.of(2025, 3, 2)));
+        list.remove(1);
+        assertEquals("Here are the matching tasks in your list:\n1.[D][ ] report appendix (by: Mar 2 2025)",
+                list.query(openBeforeFifth));
+
+        TaskQuery events = new TaskQuery("q", TaskType.EVENT, null, null, null, null);
+        assertTrue(list.query(events).endsWith("1.[E][ ] report review (from: Mon 2pm to: 4pm)"));
+        TaskQuery after = new TaskQuery("q", null, null, null, LocalDate.of(2025, 3, 1), null);
+        assertEquals("Here are the matching tasks in your list:\n1.[D][ ] report appendix (by: Mar 2 2025)",
+                list.query(after));
+    }
+
+    @Test
+    @DisplayName("dueBetween() returns open deadlines by date and follows mark, unmark and delete")
+    void dueBetween_tracksMutations() {
+        TaskList list = new TaskList(new ArrayList<>());
+        Deadline late = new Deadline("late", LocalDate.of(2025, 3, 9));
+        Deadline early = new Deadline("early", LocalDate.of(2025, 3, 2));
+        Deadline outside = new Deadline("outside", LocalDate.of(2025, 4, 1));
+        list.add(late);
+        list.add(new Todo("todo"));
+        list.add(early);
+        list.add(outside);
+
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        assertEquals(List.of(early, late), list.dueBetween(from, to));
+
+        list.mark(2, true);
+        assertEquals(List.of(late), list.dueBetween(from, to));
+        list.mark(2, false);
+        list.remove(0);
+        assertEquals(List.of(early), list.dueBetween(from, to));
+        assertEquals(List.of(early, outside), list.dueBetween(null, null));
+        assertEquals(List.of(), list.dueBetween(null, LocalDate.of(2025, 3, 1)));
+    }
+
+    @Test
+    @DisplayName("overlapping() and agenda() see events with resolved times, and follow deletes")
+    void overlappingAndAgenda() {
+        TaskList list = new TaskList(new ArrayList<>());
+        Event standup = new Event("standup", "Tue 9am", "9:15am",
+                LocalDateTime.of(2025, 6, 10, 9, 0), LocalDateTime.of(2025, 6, 10, 9, 15));
+        Event trip = new Event("trip", "Mon", "Wed",
+                LocalDateTime.of(2025, 6, 9, 0, 0), LocalDateTime.of(2025, 6, 12, 0, 0));
+        Deadline report = new Deadline("report", LocalDate.of(2025, 6, 10));
+        list.add(standup);
+        list.add(new Event("party", "someday", "later"));
+        list.add(trip);
+        list.add(report);
+
+        assertEquals(List.of(trip, standup), list.overlapping(LocalDateTime.of(2025, 6, 10, 9, 10),
+                LocalDateTime.of(2025, 6, 10, 9, 20)));
+        assertEquals(List.of(trip), list.overlapping(LocalDateTime.of(2025, 6, 11, 9, 0),
+                LocalDateTime.of(2025, 6, 11, 10, 0)));
+        assertEquals(List.of(trip, standup, report), list.agenda(LocalDate.of(2025, 6, 10)));
+
+        list.remove(2);
+        assertEquals(List.of(standup, report), list.agenda(LocalDate.of(2025, 6, 10)));
+        assertEquals(List.of(), list.agenda(LocalDate.of(2025, 6, 12)));
+    }
+
+    @Test
+    @DisplayName("render() caches the formatted task until it is marked or renamed")
+    void render_invalidatedOnChange() {
+        TaskList list = new TaskList(new ArrayList<>());
+        list.add(new Deadline("report", LocalDate.of(2025, 6, 10)));
+        Task t = list.get(0);
+
+        assertEquals("[D][ ] report (by: Jun 10 2025)", t.render());
+        list.mark(0, true);
+        assertEquals("[D][X] report (by: Jun 10 2025)", t.render());
+        list.setDescription(0, "final report");
+        assertEquals(t.toString(), t.render());
+        assertTrue(t.render().contains("final report"));
+    }
+
+    @Test
+    @DisplayName("removeAll() removes many tasks in one pass and keeps the indexes consistent")
+    void removeAll_compactsInOnePass() {
+        TaskList list = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 10; i++) {
+            list.add(new Todo("task " + i));
+        }
+        list.findTasks("task"); // build the keyword index before removing
+
+        List<Task> removed = list.removeAll(new int[]{0, 3, 4, 9});
+        assertEquals(4, removed.size());
+        assertEquals("[T][ ] task 3", removed.get(1).toString());
+        assertEquals(6, list.size());
+        assertEquals("[T][ ] task 5", list.get(2).toString());
+        assertEquals("No matching tasks found for: \"task 9\"", list.findTasks("task 9"));
+        assertEquals("Here are the matching tasks in your list:\n1.[T][ ] task 8", list.findTasks("task 8"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAll(new int[]{6}));
+    }
+
+    @Test
+    @DisplayName("ids survive removals and reloads, and tombstones keep indices consistent")
+    void ids_stableAcrossRemovals() throws Exception {
+        TaskList list = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 100; i++) {
+            list.add(new Todo("task " + i));
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            expected.add(i);
+        }
+        for (int i = 0; i < 60; i++) {
+            int idx = (i * 37) % list.size();
+            Task removed = list.remove(idx);
+            assertEquals((int) expected.remove(idx), removed.getId());
+            assertEquals(-1, list.indexOfId(removed.getId()));
+            int probe = expected.get(expected.size() / 2);
+            assertEquals(expected.indexOf(probe), list.indexOfId(probe));
+            assertEquals(probe, list.get(list.indexOfId(probe)).getId());
+        }
+        assertEquals(expected.size(), list.size());
+        list.add(new Todo("new"));
+        assertEquals(101, list.get(list.size() - 1).getId());
+
+        TaskList reloaded = new TaskList(list.raw());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((int) expected.get(i), reloaded.get(i).getId());
+        }
+        reloaded.add(new Todo("newer"));
+        assertEquals(102, reloaded.get(reloaded.size() - 1).getId());
+
+        // Deleting the task with the highest id must not make its id free again on disk.
+        assertEquals(102, reloaded.remove(reloaded.size() - 1).getId());
+        for (Storage.Format format : Storage.Format.values()) {
+            for (boolean isJournaled : new boolean[]{false, true}) {
+                Path d = dir.resolve(format + "-" + isJournaled);
+                Storage storage = new Storage(d, format, isJournaled, 1 << 20);
+                storage.save(reloaded);
+                storage.close();
+                Storage again = new Storage(d, format, isJournaled, 1 << 20);
+                TaskList fromDisk = new TaskList(again.load(), again.getNextId());
+                assertEquals(expected.size() + 1, fromDisk.size());
+
+                Todo temp = new Todo("temp");
+                fromDisk.add(temp);
+                assertEquals(103, temp.getId(), format + (isJournaled ? " journaled" : ""));
+                again.commit(fromDisk, Journal.added(temp));
+                fromDisk.remove(fromDisk.size() - 1);
+                again.commit(fromDisk, Journal.deleted(temp));
+                again.close();
+
+                Storage last = new Storage(d, format, isJournaled, 1 << 20);
+                TaskList restarted = new TaskList(last.load(), last.getNextId());
+                last.close();
+                restarted.add(new Todo("newest"));
+                assertEquals(104, restarted.get(restarted.size() - 1).getId(),
+                        format + (isJournaled ? " journaled" : ""));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("tasks saved without ids are numbered in list order")
+    void ids_assignedToLegacyTasks() {
+        ArrayList<Task> legacy = new ArrayList<>(List.of(new Todo("a"), new Todo("b"), new Todo("c")));
+        legacy.get(1).id = 7;
+        TaskList list = new TaskList(legacy);
+
+        assertEquals(1, list.get(0).getId());
+        assertEquals(7, list.get(1).getId());
+        assertEquals(8, list.get(2).getId());
+        assertEquals(2, list.indexOfId(8));
+    }
+
+    @Test
+    @DisplayName("snapshots are consistent and never change while other threads write")
+    void snapshot_consistentUnderConcurrentWrites() throws Exception {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new Todo("seed " + i));
+        }
+        int writers = 4;
+        int readers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        CountDownLatch writersDone = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(w);
+            pool.execute(() -> {
+                try {
+                    for (int op = 0; op < 20_000; op++) {
+                        try {
+                            int idx = random.nextInt(Math.max(1, list.size()));
+                            switch (random.nextInt(4)) {
+                            case 0:
+                                list.add(new Todo("task " + op));
+                                break;
+                            case 1:
+                                list.remove(idx);
+                                break;
+                            case 2:
+                                list.mark(idx, random.nextBoolean());
+                                break;
+                            default:
+                                list.setDescription(idx, "renamed " + op);
+                            }
+                        } catch (IndexOutOfBoundsException e) {
+                            // Another writer shrank the list in between; fine.
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        for (int r = 0; r < readers; r++) {
+            pool.execute(() -> {
+                try {
+                    while (isWriting.get()) {
+                        List<Task> snapshot = list.snapshot();
+                        StringBuilder before = new StringBuilder();
+                        int prevId = 0;
+                        for (Task t : snapshot) {
+                            assertTrue(t.getId() > prevId, "ids must ascend in a snapshot");
+                            assertEquals(t.toString(), t.render(), "a frozen task must not change");
+                            before.append(t.render()).append('\n');
+                            prevId = t.getId();
+                        }
+                        Thread.yield();
+                        StringBuilder after = new StringBuilder();
+                        for (Task t : snapshot) {
+                            after.append(t).append('\n');
+                        }
+                        assertEquals(before.toString(), after.toString(), "a snapshot must not change");
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS), "writers should finish");
+        isWriting.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "readers should finish");
+        assertTrue(failures.isEmpty(), () -> "failures: " + failures);
+
+        List<Task> last = list.snapshot();
+        assertSame(last, list.snapshot(), "an unchanged list should reuse its snapshot");
+        assertEquals(list.size(), last.size());
+        for (int i = 0; i < last.size(); i++) {
+            assertEquals(list.get(i).toString(), last.get(i).toString());
+        }
+    }
+}
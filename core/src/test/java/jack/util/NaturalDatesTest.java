@@ -0,0 +1,72 @@
+package jack.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class NaturalDatesTest {
+    /** A Sunday. */
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private static LocalDateTime[] interval(String start, String end) {
+        return new LocalDateTime[] {LocalDateTime.parse(start), LocalDateTime.parse(end)};
+    }
+
+    @Test
+    @DisplayName("parseInterval keeps the time after a weekday")
+    void parseInterval_weekdayAndTime() {
+        assertArrayEquals(interval("2026-10-19T14:00", "2026-10-19T16:00"),
+                NaturalDates.parseInterval("Mon 2pm", "4pm", TODAY));
+        assertArrayEquals(interval("2026-10-20T09:00", "2026-10-20T10:00"),
+                NaturalDates.parseInterval("Tuesday 9am", "10am", TODAY));
+        assertArrayEquals(interval("2026-10-20T14:00", "2026-10-20T16:00"),
+                NaturalDates.parseInterval("next tue 2 pm", "tue 4 pm", TODAY));
+    }
+
+    @Test
+    @DisplayName("parseInterval reads explicit dates with and without a time")
+    void parseInterval_dateAndTime() {
+        assertArrayEquals(interval("2025-10-01T14:00", "2025-10-02T09:30"),
+                NaturalDates.parseInterval("2025-10-01 14:00", "2025-10-02 9:30am", TODAY));
+        assertArrayEquals(interval("2025-01-01T00:00", "2025-01-03T00:00"),
+                NaturalDates.parseInterval("1 Jan 2025", "2/1/2025", TODAY));
+        assertArrayEquals(interval("2026-10-19T00:00", "2026-10-19T18:00"),
+                NaturalDates.parseInterval("tomorrow", "tomorrow 1800", TODAY));
+    }
+
+    @Test
+    @DisplayName("parseInterval puts bare times on today, rolling an earlier end to the next day")
+    void parseInterval_timesOnly() {
+        assertArrayEquals(interval("2026-10-18T14:00", "2026-10-18T16:00"),
+                NaturalDates.parseInterval("2pm", "4pm", TODAY));
+        assertArrayEquals(interval("2026-10-18T23:00", "2026-10-19T01:00"),
+                NaturalDates.parseInterval("11pm", "1am", TODAY));
+    }
+
+    @Test
+    @DisplayName("parseInterval rejects unknown endpoints and ends before the start")
+    void parseInterval_invalid() {
+        assertNull(NaturalDates.parseInterval("someday", "4pm", TODAY));
+        assertNull(NaturalDates.parseInterval("someday 2pm", "4pm", TODAY));
+        assertNull(NaturalDates.parseInterval("2025-10-02 2pm", "2025-10-01 3pm", TODAY));
+    }
+
+    @Test
+    @DisplayName("tryParse returns null where parse throws, and the same date otherwise")
+    void tryParse_matchesParse() {
+        for (String s : new String[] {"today", "next fri", "in 3 days", "31/4/2025", "1 Jan 2025"}) {
+            assertEquals(NaturalDates.parse(s, TODAY), NaturalDates.tryParse(s, TODAY), s);
+        }
+        for (String s : new String[] {"", "someday", "2pm", "in x days", "2025-02-30", "2025-13-01"}) {
+            assertNull(NaturalDates.tryParse(s, TODAY), s);
+            assertThrows(IllegalArgumentException.class, () -> NaturalDates.parse(s, TODAY));
+        }
+    }
+}
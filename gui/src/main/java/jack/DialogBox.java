@@ -0,0 +1,78 @@
+package jack;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+
+/**
+ * A chat bubble: the text of a message next to the picture of its sender, on the right
+ * for the user and on the left for Jack.
+ * <p>
+ * Built in code rather than from FXML, and refilled by {@link #show}, so that the
+ * transcript can reuse a few of them for any number of messages.
+ */
+public class DialogBox extends HBox {
+    private static final double PICTURE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
+
+    DialogBox() {
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        setPadding(PADDING);
+        setMaxWidth(Double.MAX_VALUE);
+    }
+
+    /**
+     * Shows {@code message} in this bubble, replacing what it showed before.
+     *
+     * @param message message to show
+     * @param img     picture of its sender
+     */
+    void show(Message message, Image img) {
+        dialog.setText(message.text());
+        for (Message.Kind kind : Message.Kind.values()) {
+            dialog.getStyleClass().remove(kind.styleClass());
+        }
+        dialog.getStyleClass().add(message.kind().styleClass());
+        displayPicture.setImage(img);
+        if (message.kind() == Message.Kind.USER) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        }
+    }
+
+    private static DialogBox of(Message message, Image img) {
+        DialogBox db = new DialogBox();
+        db.show(message, img);
+        return db;
+    }
+
+    /** User message: right-aligned, styled as .dialog-user */
+    public static DialogBox getUserDialog(String text, Image img) {
+        return of(Message.fromUser(text), img);
+    }
+
+    /** Jack (bot) message: left-aligned bubble. */
+    public static DialogBox getJackDialog(String text, Image img) {
+        return of(Message.fromJack(text), img);
+    }
+
+    /** Error message: left-aligned bubble, highlighted red. */
+    public static DialogBox getErrorDialog(String text, Image img) {
+        return of(Message.error(text), img);
+    }
+}
@@ -0,0 +1,51 @@
+package jack;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.layout.AnchorPane;
+import javafx.stage.Stage;
+
+/**
+ * JavaFX entry point: opens the window first, then has it load the task list in the
+ * background while it shows its progress.
+ */
+public class Main extends Application {
+    /** Longest time closing the window waits for commands that are still running. */
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private final Jack jack = new Jack(true, false);
+    private MainWindow window;
+
+    @Override
+    public void start(Stage stage) {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
+            AnchorPane ap = fxmlLoader.load();
+            Scene scene = new Scene(ap);
+            stage.setScene(scene);
+            stage.setTitle("Jack");
+            stage.setMinHeight(220);
+            stage.setMinWidth(417);
+            window = fxmlLoader.<MainWindow>getController();
+            window.setJack(jack);
+            stage.show();
+            System.err.println("Jack: window shown "
+                    + (System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime())
+                    + " ms after launch");
+            window.loadTasks();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (window != null) {
+            window.shutdown(SHUTDOWN_WAIT_MS);
+        }
+    }
+}
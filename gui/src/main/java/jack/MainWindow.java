@@ -0,0 +1,187 @@
+package jack;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import javafx.scene.layout.AnchorPane;
+import javafx.util.Duration;
+/**
+ * Controller for the main GUI.
+ * <p>
+ * The transcript is a list view of {@link Message}s, which only has bubbles for the
+ * rows on screen. It keeps the last {@code jack.gui.history} messages (default
+ * {@value #DEFAULT_HISTORY}); older ones are dropped.
+ * <p>
+ * Jack runs on a background thread, one command at a time in the order they were
+ * entered, so that saving and searching a large list never freeze the window. Commands
+ * can be typed while earlier ones are still running; replies are added on the JavaFX
+ * thread as they come. The window opens before the task list is loaded, which happens
+ * on the same thread: a progress bar shows how far loading has got, and then whether
+ * commands have been waiting for more than {@value #BUSY_DELAY_MS} ms.
+ */
+public class MainWindow extends AnchorPane {
+    /** Messages kept in the transcript unless {@code jack.gui.history} is set. */
+    private static final int DEFAULT_HISTORY = 1000;
+
+    /** Most messages kept in the transcript. */
+    private static final int HISTORY = Math.max(1, Integer.getInteger("jack.gui.history", DEFAULT_HISTORY));
+
+    /** Time commands may run before the window shows that it is busy. */
+    private static final long BUSY_DELAY_MS = 200;
+
+    @FXML
+    private ListView<Message> transcript;
+    @FXML
+    private TextField userInput;
+    @FXML
+    private Button sendButton;
+    /** Shows how far loading has got, then whether commands are running. */
+    @FXML
+    private ProgressBar progressBar;
+
+    private Jack jack;
+
+    /** Runs loading and every command, one at a time, off the JavaFX thread. */
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "jack-worker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Whether the task list is loaded; only used on the JavaFX thread. */
+    private boolean isLoaded;
+
+    /** Commands given to {@link #worker} and not answered yet; only used on the JavaFX thread. */
+    private int pending;
+
+    /** Shows the busy state once commands have been pending for {@link #BUSY_DELAY_MS}. */
+    private final PauseTransition busyDelay = new PauseTransition(Duration.millis(BUSY_DELAY_MS));
+
+    /** The transcript, oldest message first. */
+    private final ObservableList<Message> messages = FXCollections.observableArrayList();
+
+    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
+    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaJack.png"));
+
+    @FXML
+    public void initialize() {
+        transcript.setItems(messages);
+        transcript.setCellFactory(list -> new TranscriptCell(list, userImage, dukeImage));
+        transcript.setFocusTraversable(false);
+        busyDelay.setOnFinished(e -> showBusy(true));
+
+        // Add stylesheet once the scene is ready
+        transcript.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.getStylesheets().add(
+                        getClass().getResource("/css/dialog.css").toExternalForm()
+                );
+            }
+        });
+    }
+
+    /** Injects the Duke instance */
+    public void setJack(Jack d) {
+        jack = d;
+        append(Message.fromJack(jack.getWelcomeMessage()));
+    }
+
+    /**
+     * Loads the task list in the background, showing its progress. Commands entered
+     * meanwhile run once it is loaded.
+     */
+    public void loadTasks() {
+        worker.execute(() -> {
+            int count = jack.load(fraction -> Platform.runLater(() -> showLoadProgress(fraction)));
+            System.err.println("Jack: loaded " + count + " tasks in " + jack.getLoadMillis() + " ms");
+            Platform.runLater(this::onLoaded);
+        });
+    }
+
+    /**
+     * Lets the commands already entered finish, waiting at most {@code timeoutMillis},
+     * and stops the background thread.
+     *
+     * @param timeoutMillis longest time to wait
+     */
+    public void shutdown(long timeoutMillis) {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void showLoadProgress(double fraction) {
+        if (!isLoaded) {
+            progressBar.setProgress(fraction);
+        }
+    }
+
+    private void onLoaded() {
+        isLoaded = true;
+        userInput.setPromptText("");
+        showBusy(pending > 0 && busyDelay.getStatus() != Animation.Status.RUNNING);
+    }
+
+    /** Shows or hides the busy state, unless the bar still shows loading progress. */
+    private void showBusy(boolean isBusy) {
+        if (isLoaded) {
+            progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+            progressBar.setVisible(isBusy);
+        }
+    }
+
+    /**
+     * Appends the user input to the transcript and hands it to the background thread,
+     * whose reply is appended when it arrives. Clears the user input after processing.
+     */
+    @FXML
+    private void handleUserInput() {
+        String input = userInput.getText();
+        append(Message.fromUser(input));
+        userInput.clear();
+        if (pending++ == 0) {
+            busyDelay.playFromStart();
+        }
+        worker.execute(() -> {
+            String response = jack.getResponse(input);
+            boolean isExit = jack.hasExited();
+            Platform.runLater(() -> reply(response, isExit));
+        });
+    }
+
+    /** Shows Jack's reply to a command, closing the window if it was an exit command. */
+    private void reply(String response, boolean isExit) {
+        append(Message.fromJack(response));
+        if (--pending == 0) {
+            busyDelay.stop();
+            showBusy(false);
+        }
+        if (isExit) {
+            Platform.exit();
+        }
+    }
+
+    /** Adds {@code message} to the end of the transcript, dropping the oldest beyond the cap. */
+    private void append(Message message) {
+        messages.add(message);
+        if (messages.size() > HISTORY) {
+            messages.remove(0, messages.size() - HISTORY);
+        }
+        transcript.scrollTo(messages.size() - 1);
+    }
+}
@@ -0,0 +1,57 @@
+package jack;
+
+/**
+ * One entry of the chat transcript: who said it and what was said.
+ * <p>
+ * The transcript keeps only these; the bubbles that show them are created by
+ * {@link TranscriptCell} for the visible rows and reused while scrolling.
+ */
+final class Message {
+    /** Who a message is from, with the style class of its bubble. */
+    enum Kind {
+        USER("dialog-user"),
+        JACK("dialog-bot"),
+        ERROR("dialog-error");
+
+        private final String styleClass;
+
+        Kind(String styleClass) {
+            this.styleClass = styleClass;
+        }
+
+        String styleClass() {
+            return styleClass;
+        }
+    }
+
+    private final Kind kind;
+    private final String text;
+
+    private Message(Kind kind, String text) {
+        this.kind = kind;
+        this.text = text;
+    }
+
+    /** Returns a message typed by the user. */
+    static Message fromUser(String text) {
+        return new Message(Kind.USER, text);
+    }
+
+    /** Returns a reply from Jack. */
+    static Message fromJack(String text) {
+        return new Message(Kind.JACK, text);
+    }
+
+    /** Returns an error reported by Jack. */
+    static Message error(String text) {
+        return new Message(Kind.ERROR, text);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    String text() {
+        return text;
+    }
+}
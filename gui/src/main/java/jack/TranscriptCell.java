@@ -0,0 +1,37 @@
+package jack;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Row of the transcript list. The list only creates rows for the messages on screen and
+ * moves them to other messages while scrolling, so each row builds its bubble once.
+ */
+final class TranscriptCell extends ListCell<Message> {
+    /** Width left to the list's scroll bar and the row's own padding. */
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+
+    private final DialogBox box = new DialogBox();
+    private final Image userImage;
+    private final Image jackImage;
+
+    TranscriptCell(ListView<Message> list, Image userImage, Image jackImage) {
+        this.userImage = userImage;
+        this.jackImage = jackImage;
+        // Follow the list's width instead of the text's, so that long messages wrap
+        setPrefWidth(0);
+        box.prefWidthProperty().bind(list.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        box.show(message, message.kind() == Message.Kind.USER ? userImage : jackImage);
+        setGraphic(box);
+    }
+}
@@ -1,68 +0,0 @@
-package jack;
-
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.geometry.Pos;
-import javafx.scene.Node;
-import javafx.scene.control.Label;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
-public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        displayPicture.setImage(img);
-
-    }
-
-
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-    }
-
-    /** User message: right-aligned, styled as .dialog-user */
-    public static DialogBox getUserDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("dialog-user");
-        return db;
-    }
-
-    /** Jack (bot) message: left-aligned bubble. */
-    public static DialogBox getJackDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("dialog-bot");
-        db.flip();
-        return db;
-    }
-
-    /** Error message: left-aligned bubble, highlighted red. */
-    public static DialogBox getErrorDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("dialog-error");
-        db.flip();
-        return db;
-    }
-}
-